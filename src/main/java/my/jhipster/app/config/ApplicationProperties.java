@@ -1,5 +1,6 @@
 package my.jhipster.app.config;
 
+import java.time.Duration;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -10,9 +11,261 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
 public class ApplicationProperties {
+
+    private final Bulk bulk = new Bulk();
+
+    private final Sequence sequence = new Sequence();
+
+    private final Cache cache = new Cache();
+
+    private final LoginActivity loginActivity = new LoginActivity();
+
+    private final Provisioning provisioning = new Provisioning();
+
+    private final Availability availability = new Availability();
+
+    private final Tls tls = new Tls();
+
     // jhipster-needle-application-properties-property
 
+    public Bulk getBulk() {
+        return bulk;
+    }
+
+    public Sequence getSequence() {
+        return sequence;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public LoginActivity getLoginActivity() {
+        return loginActivity;
+    }
+
+    public Provisioning getProvisioning() {
+        return provisioning;
+    }
+
+    public Availability getAvailability() {
+        return availability;
+    }
+
+    public Tls getTls() {
+        return tls;
+    }
+
     // jhipster-needle-application-properties-property-getter
 
+    public static class Bulk {
+
+        /**
+         * Number of entities written by each unordered bulk write.
+         */
+        private int batchSize = 1000;
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+    }
+
+    public static class Sequence {
+
+        /**
+         * Number of ids reserved by a node each time it increments a sequence.
+         */
+        private int blockSize = 1000;
+
+        public int getBlockSize() {
+            return blockSize;
+        }
+
+        public void setBlockSize(int blockSize) {
+            this.blockSize = blockSize;
+        }
+    }
+
+    public static class Cache {
+
+        /**
+         * Maximum number of entities kept by each entity cache.
+         */
+        private long maximumSize = 10_000;
+
+        /**
+         * Time after which a cached entity is read again from the database, bounding the staleness of the entities written by
+         * other nodes.
+         */
+        private Duration timeToLive = Duration.ofMinutes(10);
+
+        private final ChangeStream changeStream = new ChangeStream();
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+
+        public ChangeStream getChangeStream() {
+            return changeStream;
+        }
+
+        public static class ChangeStream {
+
+            /**
+             * Whether the entities written by other nodes are evicted from the caches, as told by MongoDB change streams.
+             * <p>
+             * Change streams require a replica set, so they are disabled unless enabled by the profiles which run one.
+             */
+            private boolean enabled = false;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+        }
+    }
+
+    public static class LoginActivity {
+
+        /**
+         * Delay between two writes of the last login dates recorded meanwhile.
+         * <p>
+         * It bounds how stale the last login dates are, and how many are lost if the node crashes.
+         */
+        private Duration flushInterval = Duration.ofSeconds(10);
+
+        public Duration getFlushInterval() {
+            return flushInterval;
+        }
+
+        public void setFlushInterval(Duration flushInterval) {
+            this.flushInterval = flushInterval;
+        }
+    }
+
+    public static class Provisioning {
+
+        /**
+         * Whether the app users are created, or updated, from the claims of the authenticated users.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Delay between two writes of the app users provisioned meanwhile.
+         * <p>
+         * A new user is only found in the app users once it is written.
+         */
+        private Duration flushInterval = Duration.ofMillis(200);
+
+        /**
+         * Delay before the claims of an app user which could not be written are written again, unless they change meanwhile.
+         */
+        private Duration retryBackoff = Duration.ofMinutes(5);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getFlushInterval() {
+            return flushInterval;
+        }
+
+        public void setFlushInterval(Duration flushInterval) {
+            this.flushInterval = flushInterval;
+        }
+
+        public Duration getRetryBackoff() {
+            return retryBackoff;
+        }
+
+        public void setRetryBackoff(Duration retryBackoff) {
+            this.retryBackoff = retryBackoff;
+        }
+    }
+
+    public static class Availability {
+
+        /**
+         * Probability that a key which is not taken must still be looked up in the database, once the filters hold as many keys
+         * as they were sized for: twice the number of app users when they are built.
+         */
+        private double falsePositiveProbability = 0.01;
+
+        /**
+         * Delay between two builds of the filters, which forget the keys of the app users deleted or updated meanwhile, and are
+         * sized again.
+         */
+        private Duration rebuildInterval = Duration.ofHours(6);
+
+        public double getFalsePositiveProbability() {
+            return falsePositiveProbability;
+        }
+
+        public void setFalsePositiveProbability(double falsePositiveProbability) {
+            this.falsePositiveProbability = falsePositiveProbability;
+        }
+
+        public Duration getRebuildInterval() {
+            return rebuildInterval;
+        }
+
+        public void setRebuildInterval(Duration rebuildInterval) {
+            this.rebuildInterval = rebuildInterval;
+        }
+    }
+
+    public static class Tls {
+
+        /**
+         * Maximum number of TLS sessions the server keeps to resume them with the clients which do not support session tickets,
+         * 0 for no limit.
+         */
+        private int sessionCacheSize = 20_480;
+
+        /**
+         * Time during which a client may resume its TLS session without a full handshake, from the cache or from a session
+         * ticket, which is issued with that lifetime.
+         */
+        private Duration sessionTimeout = Duration.ofHours(4);
+
+        public int getSessionCacheSize() {
+            return sessionCacheSize;
+        }
+
+        public void setSessionCacheSize(int sessionCacheSize) {
+            this.sessionCacheSize = sessionCacheSize;
+        }
+
+        public Duration getSessionTimeout() {
+            return sessionTimeout;
+        }
+
+        public void setSessionTimeout(Duration sessionTimeout) {
+            this.sessionTimeout = sessionTimeout;
+        }
+    }
     // jhipster-needle-application-properties-property-class
 }
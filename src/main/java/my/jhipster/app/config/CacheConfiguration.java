@@ -0,0 +1,41 @@
+package my.jhipster.app.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.List;
+import my.jhipster.app.repository.AppUserRepository;
+import my.jhipster.app.repository.UserGroupRepository;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Local Caffeine caches in front of the reads by id of the repositories.
+ * <p>
+ * The caches are created eagerly, so their statistics are bound to the meter registry at startup as {@code cache.*} metrics.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfiguration {
+
+    @Bean
+    public CacheManager cacheManager(ApplicationProperties applicationProperties) {
+        ApplicationProperties.Cache cache = applicationProperties.getCache();
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(
+            Caffeine.newBuilder().maximumSize(cache.getMaximumSize()).expireAfterWrite(cache.getTimeToLive()).recordStats()
+        );
+        // Missing entities are not cached, so an entity created by another node is found right away
+        cacheManager.setAllowNullValues(false);
+        cacheManager.setCacheNames(
+            List.of(
+                AppUserRepository.APP_USERS_BY_ID_CACHE,
+                AppUserRepository.APP_USER_EXISTS_BY_ID_CACHE,
+                UserGroupRepository.USER_GROUPS_BY_ID_CACHE,
+                UserGroupRepository.USER_GROUP_EXISTS_BY_ID_CACHE
+            )
+        );
+        return cacheManager;
+    }
+}
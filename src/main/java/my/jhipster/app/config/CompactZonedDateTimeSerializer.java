@@ -0,0 +1,129 @@
+package my.jhipster.app.config;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.datatype.jsr310.ser.ZonedDateTimeSerializer;
+import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes the {@link ZonedDateTime}s as {@link DateTimeFormatter#ISO_OFFSET_DATE_TIME} does, such as
+ * {@code 2024-05-17T08:30:12.5Z}, straight into a small character array rather than through a formatter and a {@link String}.
+ * <p>
+ * It only takes the common path: dates written as text, in their own offset, without a pattern, of a year between 0 and 9999.
+ * The others are written by the {@link ZonedDateTimeSerializer} it extends, as are the properties with a {@code JsonFormat}.
+ */
+final class CompactZonedDateTimeSerializer extends ZonedDateTimeSerializer {
+
+    static final CompactZonedDateTimeSerializer INSTANCE = new CompactZonedDateTimeSerializer();
+
+    /**
+     * The length of {@code 9999-12-31T23:59:59.999999999+18:00:00}, the longest date written here.
+     */
+    private static final int MAX_LENGTH = 38;
+
+    private CompactZonedDateTimeSerializer() {
+        super();
+    }
+
+    private CompactZonedDateTimeSerializer(
+        CompactZonedDateTimeSerializer base,
+        Boolean useTimestamp,
+        Boolean useNanoseconds,
+        DateTimeFormatter formatter,
+        JsonFormat.Shape shape,
+        Boolean writeZoneId
+    ) {
+        super(base, useTimestamp, useNanoseconds, formatter, shape, writeZoneId);
+    }
+
+    /**
+     * Each property gets a copy with its format, even without a {@code JsonFormat}: it must stay compact.
+     */
+    @Override
+    protected CompactZonedDateTimeSerializer withFormat(Boolean useTimestamp, DateTimeFormatter formatter, JsonFormat.Shape shape) {
+        return new CompactZonedDateTimeSerializer(this, useTimestamp, _useNanoseconds, formatter, shape, _writeZoneId);
+    }
+
+    @Override
+    protected CompactZonedDateTimeSerializer withFeatures(Boolean writeZoneId, Boolean writeNanoseconds) {
+        return new CompactZonedDateTimeSerializer(this, _useTimestamp, writeNanoseconds, _formatter, _shape, writeZoneId);
+    }
+
+    @Override
+    public void serialize(ZonedDateTime value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        if (
+            _formatter != null ||
+            useTimestamp(provider) ||
+            shouldWriteWithZoneId(provider) ||
+            provider.getConfig().hasExplicitTimeZone() ||
+            value.getYear() < 0 ||
+            value.getYear() > 9999
+        ) {
+            super.serialize(value, generator, provider);
+            return;
+        }
+        char[] buffer = new char[MAX_LENGTH];
+        generator.writeString(buffer, 0, format(value, buffer));
+    }
+
+    /**
+     * Format a date of a year between 0 and 9999.
+     *
+     * @return the number of characters written to the buffer.
+     */
+    static int format(ZonedDateTime value, char[] buffer) {
+        int position = 0;
+        position = writeDigits(buffer, position, value.getYear(), 4);
+        buffer[position++] = '-';
+        position = writeDigits(buffer, position, value.getMonthValue(), 2);
+        buffer[position++] = '-';
+        position = writeDigits(buffer, position, value.getDayOfMonth(), 2);
+        buffer[position++] = 'T';
+        position = writeDigits(buffer, position, value.getHour(), 2);
+        buffer[position++] = ':';
+        position = writeDigits(buffer, position, value.getMinute(), 2);
+        buffer[position++] = ':';
+        position = writeDigits(buffer, position, value.getSecond(), 2);
+        int nano = value.getNano();
+        if (nano != 0) {
+            // As few digits as needed, like the formatter
+            int digits = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                digits--;
+            }
+            buffer[position++] = '.';
+            position = writeDigits(buffer, position, nano, digits);
+        }
+        int offset = value.getOffset().getTotalSeconds();
+        if (offset == 0) {
+            buffer[position++] = 'Z';
+            return position;
+        }
+        buffer[position++] = offset < 0 ? '-' : '+';
+        int absoluteOffset = Math.abs(offset);
+        position = writeDigits(buffer, position, absoluteOffset / 3600, 2);
+        buffer[position++] = ':';
+        position = writeDigits(buffer, position, (absoluteOffset / 60) % 60, 2);
+        if (absoluteOffset % 60 != 0) {
+            buffer[position++] = ':';
+            position = writeDigits(buffer, position, absoluteOffset % 60, 2);
+        }
+        return position;
+    }
+
+    /**
+     * Write a positive number, padded with zeros to a number of digits.
+     */
+    private static int writeDigits(char[] buffer, int position, int value, int digits) {
+        int remaining = value;
+        for (int i = position + digits - 1; i >= position; i--) {
+            buffer[i] = (char) ('0' + remaining % 10);
+            remaining /= 10;
+        }
+        return position + digits;
+    }
+}
@@ -1,9 +1,16 @@
 package my.jhipster.app.config;
 
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import java.time.ZonedDateTime;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 
 @Configuration
 public class JacksonConfiguration {
@@ -14,11 +21,45 @@ public class JacksonConfiguration {
      */
     @Bean
     public JavaTimeModule javaTimeModule() {
-        return new JavaTimeModule();
+        JavaTimeModule javaTimeModule = new JavaTimeModule();
+        javaTimeModule.addSerializer(ZonedDateTime.class, CompactZonedDateTimeSerializer.INSTANCE);
+        return javaTimeModule;
     }
 
     @Bean
     public Jdk8Module jdk8TimeModule() {
         return new Jdk8Module();
     }
+
+    /**
+     * Access the properties of the beans through generated lambdas, rather than through reflection.
+     * @return the corresponding Jackson module.
+     */
+    @Bean
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    /**
+     * {@code application/cbor} requests and responses, for the clients which ask for them.
+     * <p>
+     * Spring MVC registers its own binary converters once the formats are on the classpath, but with a mapper which ignores the
+     * modules and the settings of the application: these replace them, with a mapper built like the JSON one.
+     * @param builder a new builder, with the customizations of the JSON mapper.
+     * @return the converter.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    /**
+     * {@code application/x-jackson-smile} requests and responses, with the same mapper settings as {@link #cborHttpMessageConverter}.
+     * @param builder a new builder, with the customizations of the JSON mapper.
+     * @return the converter.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
 }
@@ -0,0 +1,124 @@
+package my.jhipster.app.config;
+
+import com.mongodb.client.model.Collation;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import my.jhipster.app.config.dbmigrations.DeclaredIndexes;
+import my.jhipster.app.config.dbmigrations.DeclaredIndexes.DeclaredIndex;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Compares the indexes of the collections with the {@link DeclaredIndexes}, once the change units were applied.
+ * <p>
+ * A missing or different index is reported as down, which takes the application out of the readiness group: the queries it
+ * backs would scan the collection, and a unique constraint would not be enforced. The indexes are compared again by each health
+ * check until they match, so the application gets ready once they are fixed, without restarting.
+ */
+@Component
+public class MongoIndexesHealthIndicator extends AbstractHealthIndicator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MongoIndexesHealthIndicator.class);
+
+    private final MongoTemplate template;
+
+    private volatile boolean verified;
+
+    public MongoIndexesHealthIndicator(MongoTemplate template) {
+        super("Could not list the indexes");
+        this.template = template;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verifyIndexes() {
+        Health health = health();
+        if (!Status.UP.equals(health.getStatus())) {
+            LOG.error("The indexes differ from the declared ones, the application is not ready: {}", health.getDetails());
+        }
+    }
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) {
+        if (verified) {
+            builder.up();
+            return;
+        }
+        Map<String, String> drift = drift();
+        if (drift.isEmpty()) {
+            verified = true;
+            builder.up();
+        } else {
+            builder.down().withDetails(drift);
+        }
+    }
+
+    /**
+     * @return what differs from the declared indexes, by collection and name of the index.
+     */
+    private Map<String, String> drift() {
+        Map<String, Map<String, Document>> existingIndexes = new HashMap<>();
+        Map<String, String> drift = new TreeMap<>();
+        for (DeclaredIndex declaredIndex : DeclaredIndexes.ALL) {
+            String collectionName = template.getCollectionName(declaredIndex.entityClass());
+            Document index = existingIndexes.computeIfAbsent(collectionName, this::listIndexes).get(declaredIndex.name());
+            if (index == null) {
+                drift.put(collectionName + "." + declaredIndex.name(), "missing");
+            } else if (!matches(declaredIndex, index)) {
+                drift.put(collectionName + "." + declaredIndex.name(), "differs: " + index.toJson());
+            }
+        }
+        return drift;
+    }
+
+    private Map<String, Document> listIndexes(String collectionName) {
+        Map<String, Document> indexes = new HashMap<>();
+        for (Document index : template.getCollection(collectionName).listIndexes().into(new ArrayList<>())) {
+            indexes.put(index.getString("name"), index);
+        }
+        return indexes;
+    }
+
+    private static boolean matches(DeclaredIndex declaredIndex, Document index) {
+        return (
+            keys(declaredIndex.keys()).equals(keys(index.get("key", Document.class))) &&
+            declaredIndex.unique() == Boolean.TRUE.equals(index.getBoolean("unique")) &&
+            matches(declaredIndex.collation(), index.get("collation", Document.class))
+        );
+    }
+
+    /**
+     * @return the fields of the keys, in order, and their direction: the server may tell {@code 1} as {@code 1.0}.
+     */
+    private static List<Map.Entry<String, Object>> keys(Document keys) {
+        List<Map.Entry<String, Object>> entries = new ArrayList<>();
+        if (keys != null) {
+            keys.forEach((field, direction) ->
+                entries.add(Map.entry(field, direction instanceof Number number ? (Object) number.intValue() : direction))
+            );
+        }
+        return entries;
+    }
+
+    private static boolean matches(Collation declaredCollation, Document collation) {
+        if (declaredCollation == null) {
+            return collation == null || "simple".equals(collation.getString("locale"));
+        }
+        return (
+            collation != null &&
+            Objects.equals(declaredCollation.getLocale(), collation.getString("locale")) &&
+            Objects.equals(declaredCollation.getStrength().getIntRepresentation(), collation.getInteger("strength"))
+        );
+    }
+}
@@ -0,0 +1,19 @@
+package my.jhipster.app.config;
+
+import org.springframework.boot.autoconfigure.mongo.MongoReactiveAutoConfiguration;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.repository.config.EnableReactiveMongoRepositories;
+
+/**
+ * Creates the reactive MongoDB client and repositories, when the {@code reactive} profile is active.
+ * <p>
+ * The auto-configuration of the reactive client is excluded otherwise, so the application does not open a second connection
+ * pool it would not use. The reactive template shares the mapping and the conversions of the blocking one.
+ */
+@Configuration
+@Profile("reactive")
+@Import(MongoReactiveAutoConfiguration.class)
+@EnableReactiveMongoRepositories("my.jhipster.app.repository.reactive")
+public class ReactiveMongoConfiguration {}
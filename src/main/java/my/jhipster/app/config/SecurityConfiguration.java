@@ -7,6 +7,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.util.*;
 import java.util.function.Supplier;
+import my.jhipster.app.repository.AppUserProvisioner;
 import my.jhipster.app.security.*;
 import my.jhipster.app.security.SecurityUtils;
 import my.jhipster.app.security.oauth2.AudienceValidator;
@@ -29,6 +30,7 @@ import org.springframework.security.oauth2.client.registration.ClientRegistratio
 import org.springframework.security.oauth2.client.userinfo.OAuth2UserService;
 import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
 import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.oidc.StandardClaimNames;
 import org.springframework.security.oauth2.core.oidc.user.DefaultOidcUser;
 import org.springframework.security.oauth2.core.oidc.user.OidcUser;
 import org.springframework.security.oauth2.core.oidc.user.OidcUserAuthority;
@@ -50,11 +52,21 @@ public class SecurityConfiguration {
 
     private final JHipsterProperties jHipsterProperties;
 
+    private final ApplicationProperties applicationProperties;
+
+    private final AppUserProvisioner appUserProvisioner;
+
     @Value("${spring.security.oauth2.client.provider.oidc.issuer-uri}")
     private String issuerUri;
 
-    public SecurityConfiguration(JHipsterProperties jHipsterProperties) {
+    public SecurityConfiguration(
+        JHipsterProperties jHipsterProperties,
+        ApplicationProperties applicationProperties,
+        AppUserProvisioner appUserProvisioner
+    ) {
         this.jHipsterProperties = jHipsterProperties;
+        this.applicationProperties = applicationProperties;
+        this.appUserProvisioner = appUserProvisioner;
     }
 
     @Bean
@@ -121,7 +133,11 @@ public class SecurityConfiguration {
             }
         );
         jwtAuthenticationConverter.setPrincipalClaimName(PREFERRED_USERNAME);
-        return jwtAuthenticationConverter;
+        return jwt -> {
+            AbstractAuthenticationToken authentication = jwtAuthenticationConverter.convert(jwt);
+            provisionAppUser(jwt.getClaims());
+            return authentication;
+        };
     }
 
     OAuth2UserService<OidcUserRequest, OidcUser> oidcUserService() {
@@ -129,10 +145,21 @@ public class SecurityConfiguration {
 
         return userRequest -> {
             OidcUser oidcUser = delegate.loadUser(userRequest);
+            provisionAppUser(oidcUser.getClaims());
             return new DefaultOidcUser(oidcUser.getAuthorities(), oidcUser.getIdToken(), oidcUser.getUserInfo(), PREFERRED_USERNAME);
         };
     }
 
+    /**
+     * Create or update the appUser of an authenticated user, asynchronously: the {@link AppUserProvisioner} only queries the
+     * database the first time this node sees the user, or when its claims changed.
+     */
+    private void provisionAppUser(Map<String, Object> claims) {
+        if (applicationProperties.getProvisioning().isEnabled() && claims.get(StandardClaimNames.SUB) != null) {
+            appUserProvisioner.provision(SecurityUtils.extractAppUserFromClaims(claims));
+        }
+    }
+
     /**
      * Map authorities from "groups" or "roles" claim in ID Token.
      *
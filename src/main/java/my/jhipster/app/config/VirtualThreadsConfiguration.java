@@ -0,0 +1,44 @@
+package my.jhipster.app.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.boot.web.embedded.undertow.UndertowServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+/**
+ * Runs the requests on virtual threads, when the {@code virtual-threads} profile is active.
+ * <p>
+ * Undertow dispatches each blocking request from its IO threads to a new virtual thread, instead of a thread of its worker
+ * pool: a request waiting for the database no longer holds a platform thread, so the number of concurrent requests is bounded
+ * by the connection pool of the database rather than by the worker pool. The profile also sets
+ * {@code spring.threads.virtual.enabled}, which runs the {@code @Scheduled} jobs and, see {@link AsyncConfiguration}, the
+ * {@code @Async} tasks on virtual threads.
+ */
+@Configuration
+@Profile("virtual-threads")
+public class VirtualThreadsConfiguration {
+
+    public VirtualThreadsConfiguration() {
+        if (!JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE)) {
+            throw new IllegalStateException("The virtual-threads profile requires Java 21 or later, not " + JavaVersion.getJavaVersion());
+        }
+    }
+
+    @Bean
+    public WebServerFactoryCustomizer<UndertowServletWebServerFactory> virtualThreadsUndertowCustomizer() {
+        return factory ->
+            factory.addDeploymentInfoCustomizers(deploymentInfo -> {
+                deploymentInfo.setExecutor(new VirtualThreadTaskExecutor("undertow-request-"));
+                deploymentInfo.setAsyncExecutor(new VirtualThreadTaskExecutor("undertow-async-"));
+            });
+    }
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(MeterRegistry meterRegistry) {
+        return new VirtualThreadPinningMonitor(meterRegistry);
+    }
+}
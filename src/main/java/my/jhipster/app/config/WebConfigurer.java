@@ -2,18 +2,34 @@ package my.jhipster.app.config;
 
 import static java.net.URLDecoder.decode;
 
+import io.undertow.Undertow;
+import io.undertow.UndertowOptions;
 import jakarta.servlet.*;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSessionContext;
+import my.jhipster.app.web.filter.PreloadLinksFilter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.boot.web.embedded.undertow.UndertowServletWebServerFactory;
+import org.springframework.boot.web.embedded.undertow.UndertowWebServer;
 import org.springframework.boot.web.server.*;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.boot.web.servlet.ServletContextInitializer;
 import org.springframework.boot.web.servlet.server.ConfigurableServletWebServerFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
 import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
 import org.springframework.util.CollectionUtils;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -28,13 +44,21 @@ public class WebConfigurer implements ServletContextInitializer, WebServerFactor
 
     private static final Logger LOG = LoggerFactory.getLogger(WebConfigurer.class);
 
+    /**
+     * The Spring profile serving HTTPS, with the self-signed certificate of {@code config/tls}.
+     */
+    private static final String SPRING_PROFILE_TLS = "tls";
+
     private final Environment env;
 
     private final JHipsterProperties jHipsterProperties;
 
-    public WebConfigurer(Environment env, JHipsterProperties jHipsterProperties) {
+    private final ApplicationProperties applicationProperties;
+
+    public WebConfigurer(Environment env, JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
         this.env = env;
         this.jHipsterProperties = jHipsterProperties;
+        this.applicationProperties = applicationProperties;
     }
 
     @Override
@@ -47,12 +71,51 @@ public class WebConfigurer implements ServletContextInitializer, WebServerFactor
     }
 
     /**
-     * Customize the Servlet engine: Mime types, the document root, the cache.
+     * Customize the Servlet engine: Mime types, the document root, the cache, HTTP/2.
      */
     @Override
     public void customize(WebServerFactory server) {
         // When running in an IDE or with ./mvnw spring-boot:run, set location of the static web assets.
         setLocationForStaticAssets(server);
+        if (env.acceptsProfiles(Profiles.of(SPRING_PROFILE_TLS))) {
+            enableHttp2(server);
+        }
+    }
+
+    /**
+     * Let the clients negotiate HTTP/2 during the TLS handshake (ALPN), so a browser sends all the requests of a page
+     * concurrently on one connection, instead of queuing them on at most six HTTP/1.1 connections, each with its own handshake.
+     */
+    private void enableHttp2(WebServerFactory server) {
+        if (server instanceof UndertowServletWebServerFactory undertow) {
+            undertow.addBuilderCustomizers(builder -> builder.setServerOption(UndertowOptions.ENABLE_HTTP2, true));
+        }
+    }
+
+    /**
+     * Size the TLS session cache and set the lifetime of the sessions and their tickets, once the server created its
+     * {@link SSLContext}: the clients coming back resume their session with an abbreviated handshake, without the certificate
+     * and the key exchange. The few sessions established while the server is starting keep the defaults of the JDK.
+     */
+    @EventListener
+    public void onWebServerInitialized(WebServerInitializedEvent event) {
+        if (!env.acceptsProfiles(Profiles.of(SPRING_PROFILE_TLS)) || !(event.getWebServer() instanceof UndertowWebServer webServer)) {
+            return;
+        }
+        ApplicationProperties.Tls tls = applicationProperties.getTls();
+        for (Undertow.ListenerInfo listener : webServer.getUndertow().getListenerInfo()) {
+            if (listener.getSslContext() != null) {
+                SSLSessionContext sessions = listener.getSslContext().getServerSessionContext();
+                sessions.setSessionCacheSize(tls.getSessionCacheSize());
+                sessions.setSessionTimeout(Math.toIntExact(tls.getSessionTimeout().toSeconds()));
+                LOG.debug(
+                    "TLS sessions of {} cached up to {}, for {}",
+                    listener.getAddress(),
+                    tls.getSessionCacheSize(),
+                    tls.getSessionTimeout()
+                );
+            }
+        }
     }
 
     private void setLocationForStaticAssets(WebServerFactory server) {
@@ -80,6 +143,26 @@ public class WebConfigurer implements ServletContextInitializer, WebServerFactor
         return extractedPath.substring(0, extractionEndIndex);
     }
 
+    /**
+     * Announce the critical resources of the client with its {@code index.html}, whether it is requested or forwarded to by the
+     * {@code SpaWebFilter}.
+     */
+    @Bean
+    @Profile(SPRING_PROFILE_TLS)
+    public FilterRegistrationBean<PreloadLinksFilter> preloadLinksFilter(ResourceLoader resourceLoader) throws IOException {
+        Resource index = resourceLoader.getResource("classpath:static/index.html");
+        String indexHtml = "";
+        if (index.exists()) {
+            try (InputStream in = index.getInputStream()) {
+                indexHtml = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+        }
+        FilterRegistrationBean<PreloadLinksFilter> registration = new FilterRegistrationBean<>(new PreloadLinksFilter(indexHtml));
+        registration.addUrlPatterns("/index.html");
+        registration.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.FORWARD);
+        return registration;
+    }
+
     @Bean
     public CorsFilter corsFilter() {
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -0,0 +1,64 @@
+package my.jhipster.app.config.dbmigrations;
+
+import io.mongock.api.annotations.BeforeExecution;
+import io.mongock.api.annotations.ChangeUnit;
+import io.mongock.api.annotations.Execution;
+import io.mongock.api.annotations.RollbackBeforeExecution;
+import io.mongock.api.annotations.RollbackExecution;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import my.jhipster.app.domain.AppUser;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+
+/**
+ * Creates the compound indexes backing the sortable columns of the app user list.
+ * <p>
+ * Every index ends with {@code _id}, which is the tie-breaker of the keyset pagination, so that a sorted slice
+ * is read from a single index scan whatever the direction. Index builds are DDL and cannot run inside
+ * a transaction, hence the {@link BeforeExecution} step.
+ */
+@ChangeUnit(id = "app-user-sort-indexes", order = "001")
+public class AppUserSortIndexesMigration {
+
+    private static final List<String> SORTED_FIELDS = List.of("username", "email", "last_name", "registered_date");
+
+    private final MongoTemplate template;
+
+    public AppUserSortIndexesMigration(MongoTemplate template) {
+        this.template = template;
+    }
+
+    @BeforeExecution
+    public void createIndexes() {
+        IndexOperations indexOperations = template.indexOps(AppUser.class);
+        for (String field : SORTED_FIELDS) {
+            indexOperations.ensureIndex(new Index().on(field, Sort.Direction.ASC).on("_id", Sort.Direction.ASC).named(indexName(field)));
+        }
+    }
+
+    @RollbackBeforeExecution
+    public void dropIndexes() {
+        IndexOperations indexOperations = template.indexOps(AppUser.class);
+        Set<String> existingIndexes = indexOperations.getIndexInfo().stream().map(IndexInfo::getName).collect(Collectors.toSet());
+        SORTED_FIELDS.stream().map(AppUserSortIndexesMigration::indexName).filter(existingIndexes::contains).forEach(indexOperations::dropIndex);
+    }
+
+    @Execution
+    public void changeSet() {
+        // Nothing to do in the transactional part, see createIndexes()
+    }
+
+    @RollbackExecution
+    public void rollback() {
+        // Nothing to do in the transactional part, see dropIndexes()
+    }
+
+    private static String indexName(String field) {
+        return field + "_1__id_1";
+    }
+}
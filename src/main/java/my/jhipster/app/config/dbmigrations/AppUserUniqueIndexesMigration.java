@@ -0,0 +1,94 @@
+package my.jhipster.app.config.dbmigrations;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoCollection;
+import io.mongock.api.annotations.BeforeExecution;
+import io.mongock.api.annotations.ChangeUnit;
+import io.mongock.api.annotations.Execution;
+import io.mongock.api.annotations.RollbackBeforeExecution;
+import io.mongock.api.annotations.RollbackExecution;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import my.jhipster.app.config.dbmigrations.DeclaredIndexes.DeclaredIndex;
+import my.jhipster.app.domain.AppUser;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+/**
+ * Creates the unique indexes on the external user id, the username and the email of the app users. The email is compared
+ * case-insensitively.
+ * <p>
+ * Since MongoDB 4.2, an index build only locks the collection exclusively at its start and end, so the app users are still read
+ * and written meanwhile, and its progress is logged. A build interrupted by a clean shutdown is resumed by MongoDB 5.0 and later.
+ * Otherwise the change unit is run again at the next startup: the indexes are built one at a time, and the ones which exist are
+ * skipped.
+ * <p>
+ * A build fails if app users share a value, such as the ones provisioned at the same time by two nodes: they must be merged or
+ * removed before restarting.
+ */
+@ChangeUnit(id = "app-user-unique-indexes", order = "005")
+public class AppUserUniqueIndexesMigration {
+
+    private static final List<DeclaredIndex> INDEXES = List.of(
+        DeclaredIndexes.APP_USER_EXTERNAL_USER_ID,
+        DeclaredIndexes.APP_USER_USERNAME,
+        DeclaredIndexes.APP_USER_EMAIL
+    );
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate template;
+
+    public AppUserUniqueIndexesMigration(MongoTemplate template) {
+        this.template = template;
+    }
+
+    @BeforeExecution
+    public void createIndexes() {
+        String collectionName = template.getCollectionName(AppUser.class);
+        MongoCollection<Document> collection = template.getCollection(collectionName);
+        Set<String> existingIndexes = existingIndexes(collection);
+        try (IndexBuildProgress progress = IndexBuildProgress.report(template, collectionName)) {
+            for (DeclaredIndex index : INDEXES) {
+                if (!existingIndexes.contains(index.name())) {
+                    createIndex(collection, index);
+                }
+            }
+        }
+    }
+
+    @RollbackBeforeExecution
+    public void dropIndexes() {
+        MongoCollection<Document> collection = template.getCollection(template.getCollectionName(AppUser.class));
+        Set<String> existingIndexes = existingIndexes(collection);
+        INDEXES.stream().map(DeclaredIndex::name).filter(existingIndexes::contains).forEach(collection::dropIndex);
+    }
+
+    @Execution
+    public void changeSet() {
+        // Nothing to do in the transactional part, see createIndexes()
+    }
+
+    @RollbackExecution
+    public void rollback() {
+        // Nothing to do in the transactional part, see dropIndexes()
+    }
+
+    private static void createIndex(MongoCollection<Document> collection, DeclaredIndex index) {
+        try {
+            collection.createIndex(index.keys(), index.options());
+        } catch (MongoException e) {
+            if (e.getCode() == DUPLICATE_KEY) {
+                throw new IllegalStateException("App users share a value of the unique index " + index.name() + ": " + e.getMessage(), e);
+            }
+            throw e;
+        }
+    }
+
+    private static Set<String> existingIndexes(MongoCollection<Document> collection) {
+        Set<String> names = new HashSet<>();
+        collection.listIndexes().forEach(index -> names.add(index.getString("name")));
+        return names;
+    }
+}
@@ -0,0 +1,77 @@
+package my.jhipster.app.config.dbmigrations;
+
+import com.mongodb.client.model.Collation;
+import com.mongodb.client.model.CollationStrength;
+import com.mongodb.client.model.IndexOptions;
+import java.util.List;
+import my.jhipster.app.domain.AppUser;
+import org.bson.Document;
+
+/**
+ * The indexes created by the change units, as they must exist once all of them were applied.
+ * <p>
+ * A change unit is never run again, so an index dropped or altered by hand afterwards is only noticed by comparing the
+ * collections with this list.
+ */
+public final class DeclaredIndexes {
+
+    /**
+     * The collation of the case-insensitive indexes: the queries which compare with the same collation use them.
+     */
+    public static final Collation CASE_INSENSITIVE = Collation.builder()
+        .locale("en")
+        .collationStrength(CollationStrength.SECONDARY)
+        .build();
+
+    public static final DeclaredIndex APP_USER_EXTERNAL_USER_ID = DeclaredIndex.unique(
+        AppUser.class,
+        "external_user_id",
+        "external_user_id_unique",
+        null
+    );
+
+    public static final DeclaredIndex APP_USER_USERNAME = DeclaredIndex.unique(AppUser.class, "username", "username_unique", null);
+
+    public static final DeclaredIndex APP_USER_EMAIL = DeclaredIndex.unique(AppUser.class, "email", "email_unique_ci", CASE_INSENSITIVE);
+
+    /**
+     * All the declared indexes, but the {@code _id} ones.
+     */
+    public static final List<DeclaredIndex> ALL = List.of(
+        sortIndex("username"),
+        sortIndex("email"),
+        sortIndex("last_name"),
+        sortIndex("registered_date"),
+        APP_USER_EXTERNAL_USER_ID,
+        APP_USER_USERNAME,
+        APP_USER_EMAIL
+    );
+
+    private DeclaredIndexes() {}
+
+    private static DeclaredIndex sortIndex(String field) {
+        return new DeclaredIndex(AppUser.class, field + "_1__id_1", new Document(field, 1).append("_id", 1), false, null);
+    }
+
+    /**
+     * An index of the collection of an entity.
+     *
+     * @param entityClass the entity stored in the indexed collection.
+     * @param name the name of the index.
+     * @param keys the indexed fields, in order, and their direction.
+     * @param unique whether the index rejects duplicate keys.
+     * @param collation the collation of the index, or {@code null} for the simple binary comparison.
+     */
+    public record DeclaredIndex(Class<?> entityClass, String name, Document keys, boolean unique, Collation collation) {
+        static DeclaredIndex unique(Class<?> entityClass, String field, String name, Collation collation) {
+            return new DeclaredIndex(entityClass, name, new Document(field, 1), true, collation);
+        }
+
+        /**
+         * @return the options creating this index.
+         */
+        public IndexOptions options() {
+            return new IndexOptions().name(name).unique(unique).collation(collation);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package my.jhipster.app.config.dbmigrations;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import io.mongock.api.annotations.ChangeUnit;
+import io.mongock.api.annotations.Execution;
+import io.mongock.api.annotations.RollbackExecution;
+import java.util.List;
+import my.jhipster.app.domain.AppUser;
+import my.jhipster.app.domain.UserGroup;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * Initializes the version of the app users and the user groups written before they were versioned.
+ * <p>
+ * Spring Data considers an entity without version as new: saving one of them would insert it again instead of updating it.
+ */
+@ChangeUnit(id = "entity-version", order = "004")
+public class EntityVersionMigration {
+
+    private static final String VERSION_FIELD = "version";
+
+    private final MongoTemplate template;
+
+    public EntityVersionMigration(MongoTemplate template) {
+        this.template = template;
+    }
+
+    @Execution
+    public void changeSet() {
+        for (Class<?> entityClass : List.of(AppUser.class, UserGroup.class)) {
+            template.updateMulti(
+                Query.query(where(VERSION_FIELD).exists(false)),
+                new Update().set(VERSION_FIELD, 0L),
+                template.getCollectionName(entityClass)
+            );
+        }
+    }
+
+    @RollbackExecution
+    public void rollback() {
+        // The versions are kept: they are ignored by the previous versions of the entities
+    }
+}
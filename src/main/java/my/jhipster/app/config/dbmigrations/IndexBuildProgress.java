@@ -0,0 +1,76 @@
+package my.jhipster.app.config.dbmigrations;
+
+import com.mongodb.MongoException;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+/**
+ * Logs the progress of the index builds running on a collection, as told by the {@code currentOp} command, until it is closed.
+ * <p>
+ * Listing the operations of the server requires the {@code inprog} privilege: without it, nothing is reported.
+ */
+final class IndexBuildProgress implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(IndexBuildProgress.class);
+
+    private static final long INTERVAL_SECONDS = 10;
+
+    private final MongoTemplate template;
+
+    private final String collectionName;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "index-build-progress");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private IndexBuildProgress(MongoTemplate template, String collectionName) {
+        this.template = template;
+        this.collectionName = collectionName;
+    }
+
+    /**
+     * Start reporting the progress of the index builds of a collection.
+     *
+     * @param template the template of the database of the collection.
+     * @param collectionName the name of the collection.
+     * @return the progress, to close once the builds are over.
+     */
+    static IndexBuildProgress report(MongoTemplate template, String collectionName) {
+        IndexBuildProgress progress = new IndexBuildProgress(template, collectionName);
+        progress.executor.scheduleWithFixedDelay(progress::log, INTERVAL_SECONDS, INTERVAL_SECONDS, TimeUnit.SECONDS);
+        return progress;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void log() {
+        Document command = new Document("currentOp", true)
+            .append("ns", template.getDb().getName() + "." + collectionName)
+            .append("command.createIndexes", new Document("$exists", true));
+        try {
+            Document result = template.getMongoDatabaseFactory().getMongoDatabase("admin").runCommand(command);
+            for (Document operation : result.getList("inprog", Document.class, List.of())) {
+                Document progress = operation.get("progress", Document.class);
+                if (progress != null) {
+                    LOG.info("Building indexes of {}: {} of {} keys", collectionName, progress.get("done"), progress.get("total"));
+                } else if (operation.getString("msg") != null) {
+                    LOG.info("Building indexes of {}: {}", collectionName, operation.getString("msg"));
+                }
+            }
+        } catch (MongoException e) {
+            LOG.info("Cannot report the progress of the index builds of {}: {}", collectionName, e.getMessage());
+            executor.shutdown();
+        }
+    }
+}
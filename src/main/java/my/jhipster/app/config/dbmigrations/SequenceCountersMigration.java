@@ -0,0 +1,56 @@
+package my.jhipster.app.config.dbmigrations;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import io.mongock.api.annotations.ChangeUnit;
+import io.mongock.api.annotations.Execution;
+import io.mongock.api.annotations.RollbackExecution;
+import java.util.List;
+import my.jhipster.app.domain.AppUser;
+import my.jhipster.app.domain.UserGroup;
+import my.jhipster.app.repository.SequenceGenerator;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * Seeds the id sequences of the app users and the user groups with their greatest existing id.
+ * <p>
+ * The sequences are named after the collections, see {@link my.jhipster.app.repository.SequenceIdBeforeConvertCallback}, so the ids they generate never
+ * collide with the ids assigned before they existed.
+ */
+@ChangeUnit(id = "sequence-counters", order = "003")
+public class SequenceCountersMigration {
+
+    private static final String ID_FIELD = "_id";
+
+    private final MongoTemplate template;
+
+    public SequenceCountersMigration(MongoTemplate template) {
+        this.template = template;
+    }
+
+    @Execution
+    public void changeSet() {
+        for (Class<?> entityClass : List.of(AppUser.class, UserGroup.class)) {
+            String collectionName = template.getCollectionName(entityClass);
+            Query greatestId = new Query().with(Sort.by(Sort.Direction.DESC, ID_FIELD)).limit(1);
+            greatestId.fields().include(ID_FIELD);
+            Document document = template.findOne(greatestId, Document.class, collectionName);
+            if (document != null && document.get(ID_FIELD) instanceof Number id) {
+                template.upsert(
+                    Query.query(where(ID_FIELD).is(collectionName)),
+                    new Update().max(SequenceGenerator.VALUE_FIELD, id.longValue()),
+                    SequenceGenerator.COUNTERS_COLLECTION
+                );
+            }
+        }
+    }
+
+    @RollbackExecution
+    public void rollback() {
+        // The counters are kept: resetting them could hand out ids which are already used
+    }
+}
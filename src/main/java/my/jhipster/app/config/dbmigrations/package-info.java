@@ -0,0 +1,4 @@
+/**
+ * Mongock change units, applied at startup.
+ */
+package my.jhipster.app.config.dbmigrations;
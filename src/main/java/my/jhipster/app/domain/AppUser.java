@@ -1,12 +1,14 @@
 package my.jhipster.app.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.*;
 import java.io.Serializable;
 import java.time.ZonedDateTime;
-import java.util.HashSet;
 import java.util.Set;
+import org.springframework.data.annotation.AccessType;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.DBRef;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
@@ -20,10 +22,15 @@ public class AppUser implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
-    @NotNull
     @Id
     private Long id;
 
+    // Incremented by each write, and exposed as the ETag of the REST resources: it is only written through If-Match headers
+    @Version
+    @Field("version")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
     @NotNull
     @Field("external_user_id")
     private String externalUserId;
@@ -50,10 +57,12 @@ public class AppUser implements Serializable {
     @Field("last_login_date")
     private ZonedDateTime lastLoginDate;
 
+    // Read through the setter, to index the user groups by id
     @DBRef
     @Field("userGroup")
+    @AccessType(AccessType.Type.PROPERTY)
     @JsonIgnoreProperties(value = { "appUser" }, allowSetters = true)
-    private Set<UserGroup> userGroups = new HashSet<>();
+    private Set<UserGroup> userGroups = new UserGroupSet();
 
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
@@ -70,6 +79,19 @@ public class AppUser implements Serializable {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public AppUser version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getExternalUserId() {
         return this.externalUserId;
     }
@@ -172,7 +194,7 @@ public class AppUser implements Serializable {
         if (userGroups != null) {
             userGroups.forEach(i -> i.setAppUser(this));
         }
-        this.userGroups = userGroups;
+        this.userGroups = userGroups != null ? new UserGroupSet(userGroups) : null;
     }
 
     public AppUser userGroups(Set<UserGroup> userGroups) {
@@ -216,6 +238,7 @@ public class AppUser implements Serializable {
     public String toString() {
         return "AppUser{" +
             "id=" + getId() +
+            ", version=" + getVersion() +
             ", externalUserId='" + getExternalUserId() + "'" +
             ", username='" + getUsername() + "'" +
             ", firstName='" + getFirstName() + "'" +
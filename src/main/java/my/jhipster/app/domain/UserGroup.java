@@ -1,9 +1,11 @@
 package my.jhipster.app.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.*;
 import java.io.Serializable;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.DBRef;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
@@ -17,10 +19,15 @@ public class UserGroup implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
-    @NotNull
     @Id
     private Long id;
 
+    // The ETag of the user group resource, so it is not read from request bodies
+    @Version
+    @Field("version")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
     @NotNull
     @Field("name")
     private String name;
@@ -45,6 +52,19 @@ public class UserGroup implements Serializable {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public UserGroup version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getName() {
         return this.name;
     }
@@ -95,6 +115,7 @@ public class UserGroup implements Serializable {
     public String toString() {
         return "UserGroup{" +
             "id=" + getId() +
+            ", version=" + getVersion() +
             ", name='" + getName() + "'" +
             "}";
     }
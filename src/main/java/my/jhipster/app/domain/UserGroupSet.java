@@ -0,0 +1,141 @@
+package my.jhipster.app.domain;
+
+import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A set of {@link UserGroup}s with constant time membership operations.
+ * <p>
+ * {@link UserGroup#hashCode()} is the same for every user group, so a {@link java.util.HashSet} would put them all in one bucket.
+ * This set indexes them by id instead, consistently with {@link UserGroup#equals(Object)}: user groups without id are only
+ * equal to themselves, so they are kept by identity until they get one.
+ */
+final class UserGroupSet extends AbstractSet<UserGroup> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Map<Long, UserGroup> byId = new LinkedHashMap<>();
+
+    private final Set<UserGroup> withoutId = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    UserGroupSet() {}
+
+    UserGroupSet(Collection<UserGroup> userGroups) {
+        addAll(userGroups);
+    }
+
+    @Override
+    public int size() {
+        return byId.size() + withoutId.size();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof UserGroup userGroup)) {
+            return false;
+        }
+        if (userGroup.getId() == null) {
+            return withoutId.contains(userGroup);
+        }
+        return byId.containsKey(userGroup.getId()) || indexAssignedIds(userGroup.getId());
+    }
+
+    @Override
+    public boolean add(UserGroup userGroup) {
+        Objects.requireNonNull(userGroup);
+        if (userGroup.getId() == null) {
+            return withoutId.add(userGroup);
+        }
+        if (byId.containsKey(userGroup.getId()) || indexAssignedIds(userGroup.getId())) {
+            return false;
+        }
+        byId.put(userGroup.getId(), userGroup);
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (!(o instanceof UserGroup userGroup)) {
+            return false;
+        }
+        if (userGroup.getId() == null) {
+            return withoutId.remove(userGroup);
+        }
+        return byId.remove(userGroup.getId()) != null || (indexAssignedIds(userGroup.getId()) && byId.remove(userGroup.getId()) != null);
+    }
+
+    @Override
+    public void clear() {
+        byId.clear();
+        withoutId.clear();
+    }
+
+    @Override
+    public Iterator<UserGroup> iterator() {
+        return new Iterator<>() {
+            private Iterator<UserGroup> current = byId.values().iterator();
+
+            private boolean currentIsWithoutId;
+
+            private Iterator<UserGroup> lastReturnedFrom;
+
+            @Override
+            public boolean hasNext() {
+                if (!current.hasNext() && !currentIsWithoutId) {
+                    current = withoutId.iterator();
+                    currentIsWithoutId = true;
+                }
+                return current.hasNext();
+            }
+
+            @Override
+            public UserGroup next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                lastReturnedFrom = current;
+                return current.next();
+            }
+
+            @Override
+            public void remove() {
+                if (lastReturnedFrom == null) {
+                    throw new IllegalStateException();
+                }
+                lastReturnedFrom.remove();
+                lastReturnedFrom = null;
+            }
+        };
+    }
+
+    /**
+     * Index the user groups which got an id after being added, as they are now equal to the other user groups with this id.
+     * <p>
+     * Only called when an id is missing from the index, so adding many new user groups stays linear.
+     *
+     * @param id the id which is looked for.
+     * @return whether a user group with this id was found.
+     */
+    private boolean indexAssignedIds(Long id) {
+        if (withoutId.isEmpty()) {
+            return false;
+        }
+        for (Iterator<UserGroup> iterator = withoutId.iterator(); iterator.hasNext();) {
+            UserGroup userGroup = iterator.next();
+            if (userGroup.getId() != null) {
+                iterator.remove();
+                byId.putIfAbsent(userGroup.getId(), userGroup);
+            }
+        }
+        return byId.containsKey(id);
+    }
+}
@@ -0,0 +1,294 @@
+package my.jhipster.app.repository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Stream;
+import my.jhipster.app.config.ApplicationProperties;
+import my.jhipster.app.domain.AppUser;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tells whether a username, an email or an external user id is available, answering from in-memory {@link BloomFilter}s
+ * whenever they can.
+ * <p>
+ * There is one filter per unique key of the app users. A key a filter does not contain is available without querying the
+ * database, and only the keys it may contain are looked up. The filters are built by streaming the keys of all the app users
+ * once the application is ready, then the keys of the app users written afterwards are added as their
+ * {@link EntityChangedEvent}s are received. The builds and the additions run one at a time on a single thread, so no write is
+ * missed while the filters are built. A key cannot be removed: the keys of the app users updated or deleted meanwhile stay
+ * until the next build, which also sizes the filters for the grown collection.
+ * <p>
+ * The answer is a hint: a key taken by a write whose event was not received yet is told available, and only the unique
+ * indexes reject it.
+ * <p>
+ * The {@value #CHECKS_METRIC} counter tells the result of the checks: {@code filtered} when the filter answered,
+ * {@code false_positive} when the filter may contain a key the database does not, {@code taken}, or {@code unfiltered} before
+ * the filters are built. The {@value #FALSE_POSITIVE_PROBABILITY_METRIC} and {@value #SIZE_METRIC} gauges tell the expected
+ * false positive probability and the memory of each filter.
+ */
+@Component
+public class AppUserAvailability implements DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AppUserAvailability.class);
+
+    public static final String CHECKS_METRIC = "repository.app.user.availability.checks";
+
+    public static final String FALSE_POSITIVE_PROBABILITY_METRIC = "repository.app.user.availability.false.positive.probability";
+
+    public static final String SIZE_METRIC = "repository.app.user.availability.size";
+
+    /**
+     * The filters of an empty collection are sized for this many app users, so they do not fill up before the next build.
+     */
+    private static final long MINIMUM_EXPECTED_INSERTIONS = 10_000;
+
+    private static final int STREAM_BATCH_SIZE = 1000;
+
+    /**
+     * A unique key of the app users.
+     */
+    public enum Key {
+        USERNAME("username", "username"),
+        EMAIL("email", "email"),
+        EXTERNAL_USER_ID("externalUserId", "external_user_id");
+
+        private final String property;
+
+        private final String field;
+
+        Key(String property, String field) {
+            this.property = property;
+            this.field = field;
+        }
+
+        /**
+         * @return the name of the property of the app user.
+         */
+        public String getProperty() {
+            return property;
+        }
+
+        private String valueOf(AppUser appUser) {
+            return switch (this) {
+                case USERNAME -> appUser.getUsername();
+                case EMAIL -> appUser.getEmail();
+                case EXTERNAL_USER_ID -> appUser.getExternalUserId();
+            };
+        }
+
+        /**
+         * @return the value as it is added to the filter: the emails are compared ignoring case.
+         */
+        private String normalize(String value) {
+            return this == EMAIL ? value.toLowerCase(Locale.ROOT) : value;
+        }
+
+        /**
+         * The collation of the email index folds more than the case of the ASCII letters, such as {@code ß} and {@code ss}: the
+         * other emails are always looked up.
+         */
+        private boolean isFilterable(String value) {
+            return this != EMAIL || value.chars().allMatch(c -> c < 0x80);
+        }
+    }
+
+    private record Checks(Counter filtered, Counter falsePositive, Counter taken, Counter unfiltered) {}
+
+    private final MongoTemplate mongoTemplate;
+
+    private final AppUserRepository appUserRepository;
+
+    private final double falsePositiveProbability;
+
+    private final Map<Key, Checks> checks = new EnumMap<>(Key.class);
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "app-user-availability");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The filters, or {@code null} until they are built.
+     */
+    private volatile Map<Key, BloomFilter> filters;
+
+    public AppUserAvailability(
+        MongoTemplate mongoTemplate,
+        AppUserRepository appUserRepository,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.mongoTemplate = mongoTemplate;
+        this.appUserRepository = appUserRepository;
+        this.falsePositiveProbability = applicationProperties.getAvailability().getFalsePositiveProbability();
+        for (Key key : Key.values()) {
+            checks.put(
+                key,
+                new Checks(
+                    checksCounter(meterRegistry, key, "filtered"),
+                    checksCounter(meterRegistry, key, "false_positive"),
+                    checksCounter(meterRegistry, key, "taken"),
+                    checksCounter(meterRegistry, key, "unfiltered")
+                )
+            );
+            Gauge.builder(FALSE_POSITIVE_PROBABILITY_METRIC, this, filterGauge(key, BloomFilter::expectedFalsePositiveProbability))
+                .description("The probability that the filter may contain a key the database does not")
+                .tag("key", key.getProperty())
+                .register(meterRegistry);
+            Gauge.builder(SIZE_METRIC, this, filterGauge(key, BloomFilter::sizeInBytes))
+                .description("The memory of the filter")
+                .baseUnit(BaseUnits.BYTES)
+                .tag("key", key.getProperty())
+                .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Tell whether no app user has a key.
+     *
+     * @param key the key.
+     * @param value the value of the key, compared like the unique index of the key does.
+     * @return whether the value is available, as far as the writes received so far tell.
+     */
+    public boolean isAvailable(Key key, String value) {
+        Map<Key, BloomFilter> current = filters;
+        Checks keyChecks = checks.get(key);
+        if (current != null && key.isFilterable(value) && !current.get(key).mightContain(key.normalize(value))) {
+            keyChecks.filtered().increment();
+            return true;
+        }
+        boolean taken =
+            switch (key) {
+                case USERNAME -> appUserRepository.existsByUsername(value);
+                case EMAIL -> appUserRepository.existsByEmailIgnoreCase(value);
+                case EXTERNAL_USER_ID -> appUserRepository.existsByExternalUserId(value);
+            };
+        if (taken) {
+            keyChecks.taken().increment();
+        } else {
+            (current == null ? keyChecks.unfiltered() : keyChecks.falsePositive()).increment();
+        }
+        return !taken;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        execute(this::build);
+    }
+
+    /**
+     * Build the filters again, to forget the keys which were released since the previous build.
+     */
+    @Scheduled(
+        initialDelayString = "${application.availability.rebuild-interval:PT6H}",
+        fixedDelayString = "${application.availability.rebuild-interval:PT6H}"
+    )
+    public void rebuild() {
+        execute(this::build);
+    }
+
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (AppUser.class.equals(event.entityClass())) {
+            // The app users written while the changes were not followed are unknown
+            execute(event.ids() == null ? this::build : () -> add(event.ids()));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private void execute(Runnable task) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            LOG.debug("Not updating the availability filters, as the application is shutting down");
+        }
+    }
+
+    void build() {
+        long expectedInsertions = Math.max(MINIMUM_EXPECTED_INSERTIONS, 2 * mongoTemplate.estimatedCount(AppUser.class));
+        Map<Key, BloomFilter> built = new EnumMap<>(Key.class);
+        for (Key key : Key.values()) {
+            built.put(key, BloomFilter.create(expectedInsertions, falsePositiveProbability));
+        }
+        Query query = new Query().cursorBatchSize(STREAM_BATCH_SIZE);
+        for (Key key : Key.values()) {
+            query.fields().include(key.field);
+        }
+        try (Stream<Document> documents = mongoTemplate.stream(query, Document.class, mongoTemplate.getCollectionName(AppUser.class))) {
+            documents.forEach(document -> {
+                for (Key key : Key.values()) {
+                    put(built, key, document.getString(key.field));
+                }
+            });
+        } catch (RuntimeException e) {
+            LOG.warn("Could not build the availability filters, the previous ones are kept: {}", e.getMessage());
+            return;
+        }
+        filters = built;
+        LOG.debug("Built the availability filters of the app users, sized for {} keys", expectedInsertions);
+    }
+
+    private void add(Collection<?> ids) {
+        Map<Key, BloomFilter> current = filters;
+        if (current == null) {
+            // The build streams them
+            return;
+        }
+        for (Object id : ids) {
+            if (id instanceof Long appUserId) {
+                appUserRepository
+                    .findById(appUserId)
+                    .ifPresent(appUser -> {
+                        for (Key key : Key.values()) {
+                            put(current, key, key.valueOf(appUser));
+                        }
+                    });
+            }
+        }
+    }
+
+    private static void put(Map<Key, BloomFilter> filters, Key key, String value) {
+        if (value != null) {
+            filters.get(key).put(key.normalize(value));
+        }
+    }
+
+    private static Counter checksCounter(MeterRegistry meterRegistry, Key key, String result) {
+        return Counter.builder(CHECKS_METRIC)
+            .description("The availability checks of the keys of the app users")
+            .tag("key", key.getProperty())
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    private static ToDoubleFunction<AppUserAvailability> filterGauge(Key key, ToDoubleFunction<BloomFilter> value) {
+        return availability -> {
+            Map<Key, BloomFilter> current = availability.filters;
+            return current == null ? Double.NaN : value.applyAsDouble(current.get(key));
+        };
+    }
+}
@@ -0,0 +1,183 @@
+package my.jhipster.app.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import my.jhipster.app.config.ApplicationProperties;
+import my.jhipster.app.domain.AppUser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates or updates the app users of the authenticated users, from the claims of their identity provider, in periodic bulk
+ * writes.
+ * <p>
+ * The requests of the same user between two flushes are deduplicated into one write of its latest claims. Once written, the
+ * claims are kept in the {@value #PROVISIONED_CACHE} cache of this node, so the following requests of the user cost no query
+ * until its claims change, or the entry expires. An app user deleted meanwhile is only provisioned again after that.
+ * <p>
+ * Two nodes may both insert a new user whose first requests reach them at the same time: the unique index on the external user
+ * id rejects the second insert, and that node updates the app user instead on the first request of the user once the retry
+ * backoff elapsed.
+ * <p>
+ * The claims of an app user which could not be written are not written again before the retry backoff,
+ * {@code application.provisioning.retry-backoff}, elapses, unless they change. A user without an email claim is not
+ * provisioned: the email of an app user is required, and unique.
+ * <p>
+ * The {@value #PENDING_METRIC} gauge tells how many app users wait for the next flush.
+ */
+@Component
+public class AppUserProvisioner implements SmartLifecycle {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AppUserProvisioner.class);
+
+    public static final String PENDING_METRIC = "repository.app.user.provisioning.pending";
+
+    public static final String PROVISIONED_CACHE = "provisionedAppUsers";
+
+    /**
+     * Stopped after the web server, which stops in the {@code DEFAULT_PHASE - 2048} phase.
+     */
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final ConcurrentMap<String, Claims> pendingClaims = new ConcurrentHashMap<>();
+
+    private final Cache<String, Claims> provisionedClaims;
+
+    private final Cache<String, Claims> failedClaims;
+
+    private final AppUserRepository appUserRepository;
+
+    /**
+     * Serializes the flushes: a virtual thread would stay pinned to its carrier during the bulk write inside a monitor.
+     */
+    private final Lock flushLock = new ReentrantLock();
+
+    private volatile boolean running;
+
+    public AppUserProvisioner(
+        AppUserRepository appUserRepository,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.appUserRepository = appUserRepository;
+        ApplicationProperties.Cache cache = applicationProperties.getCache();
+        this.provisionedClaims = Caffeine.newBuilder()
+            .maximumSize(cache.getMaximumSize())
+            .expireAfterWrite(cache.getTimeToLive())
+            .recordStats()
+            .build();
+        this.failedClaims = Caffeine.newBuilder()
+            .maximumSize(cache.getMaximumSize())
+            .expireAfterWrite(applicationProperties.getProvisioning().getRetryBackoff())
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, provisionedClaims, PROVISIONED_CACHE);
+        meterRegistry.gaugeMapSize(PENDING_METRIC, Tags.empty(), pendingClaims);
+    }
+
+    /**
+     * Provision the app user of an authenticated user, unless this node already did, or recently failed to, with the same claims.
+     *
+     * @param appUser the external user id of the app user, and its fields from the claims.
+     */
+    public void provision(AppUser appUser) {
+        if (appUser.getEmail() == null || appUser.getEmail().isBlank()) {
+            LOG.debug("Not provisioning the app user of {}, without an email claim", appUser.getExternalUserId());
+            return;
+        }
+        Claims claims = new Claims(appUser.getUsername(), appUser.getFirstName(), appUser.getLastName(), appUser.getEmail());
+        String externalUserId = appUser.getExternalUserId();
+        if (!claims.equals(provisionedClaims.getIfPresent(externalUserId)) && !claims.equals(failedClaims.getIfPresent(externalUserId))) {
+            pendingClaims.put(externalUserId, claims);
+        }
+    }
+
+    /**
+     * Write the app users provisioned since the previous flush.
+     */
+    @Scheduled(fixedDelayString = "${application.provisioning.flush-interval:PT0.2S}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            doFlush();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void doFlush() {
+        if (pendingClaims.isEmpty()) {
+            return;
+        }
+        Map<String, Claims> flushed = new HashMap<>();
+        for (Map.Entry<String, Claims> entry : pendingClaims.entrySet()) {
+            // Claims changed meanwhile stay for the next flush
+            if (pendingClaims.remove(entry.getKey(), entry.getValue())) {
+                flushed.put(entry.getKey(), entry.getValue());
+            }
+        }
+        List<AppUser> appUsers = new ArrayList<>(flushed.size());
+        flushed.forEach((externalUserId, claims) -> appUsers.add(claims.toAppUser(externalUserId)));
+        Set<String> failed;
+        try {
+            failed = appUserRepository.provision(appUsers);
+        } catch (RuntimeException e) {
+            LOG.warn("Could not provision {} app users, retrying on next flush: {}", flushed.size(), e.getMessage());
+            flushed.forEach(pendingClaims::putIfAbsent);
+            return;
+        }
+        if (!failed.isEmpty()) {
+            // Not retried before the backoff elapses, as the error is likely to happen again
+            LOG.warn("Could not provision the app users of {}", failed);
+        }
+        flushed.forEach((externalUserId, claims) -> {
+            if (failed.contains(externalUserId)) {
+                failedClaims.put(externalUserId, claims);
+            } else {
+                failedClaims.invalidate(externalUserId);
+                provisionedClaims.put(externalUserId, claims);
+            }
+        });
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        flush();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private record Claims(String username, String firstName, String lastName, String email) {
+        AppUser toAppUser(String externalUserId) {
+            return new AppUser().externalUserId(externalUserId).username(username).firstName(firstName).lastName(lastName).email(email);
+        }
+    }
+}
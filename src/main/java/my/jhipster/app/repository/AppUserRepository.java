@@ -1,11 +1,75 @@
 package my.jhipster.app.repository;
 
+import java.util.Optional;
 import my.jhipster.app.domain.AppUser;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 /**
  * Spring Data MongoDB repository for the AppUser entity.
+ * <p>
+ * The reads by id are cached, and evicted by the {@link EntityCacheEvictor} when an app user is written.
+ * The instances they return are the cached ones, shared by all the readers: they must not be modified.
  */
 @Repository
-public interface AppUserRepository extends MongoRepository<AppUser, Long> {}
+public interface AppUserRepository extends AppUserRepositoryCustom, MongoRepository<AppUser, Long> {
+    String APP_USERS_BY_ID_CACHE = "appUsersById";
+
+    String APP_USER_EXISTS_BY_ID_CACHE = "appUserExistsById";
+
+    /**
+     * The collation of the case-insensitive unique index on the email.
+     */
+    String EMAIL_COLLATION = "{ 'locale' : 'en', 'strength' : 2 }";
+
+    @Override
+    @Cacheable(cacheNames = APP_USERS_BY_ID_CACHE, unless = "#result == null")
+    Optional<AppUser> findById(Long id);
+
+    @Override
+    @Cacheable(cacheNames = APP_USER_EXISTS_BY_ID_CACHE, unless = "!#result")
+    boolean existsById(Long id);
+
+    /**
+     * Find an app user by external user id, through its unique index.
+     *
+     * @param externalUserId the subject of the user at the identity provider.
+     * @return the app user, or empty if there is none with this external user id.
+     */
+    Optional<AppUser> findOneByExternalUserId(String externalUserId);
+
+    /**
+     * Find an app user by username, through its unique index.
+     *
+     * @param username the username, compared case-sensitively.
+     * @return the app user, or empty if there is none with this username.
+     */
+    Optional<AppUser> findOneByUsername(String username);
+
+    /**
+     * Find an app user by email, ignoring case.
+     * <p>
+     * The email is compared with the collation of its case-insensitive unique index, which serves the query: a derived
+     * {@code IgnoreCase} query would be a case-insensitive regular expression, scanning all the keys of the index.
+     *
+     * @param email the email, in any case.
+     * @return the app user, or empty if there is none with this email.
+     */
+    @Query(value = "{ 'email' : ?0 }", collation = EMAIL_COLLATION)
+    Optional<AppUser> findOneByEmailIgnoreCase(String email);
+
+    boolean existsByExternalUserId(String externalUserId);
+
+    boolean existsByUsername(String username);
+
+    /**
+     * Tell whether an app user has an email, ignoring case, like {@link #findOneByEmailIgnoreCase(String)}.
+     *
+     * @param email the email, in any case.
+     * @return whether an app user has this email.
+     */
+    @Query(value = "{ 'email' : ?0 }", collation = EMAIL_COLLATION, exists = true)
+    boolean existsByEmailIgnoreCase(String email);
+}
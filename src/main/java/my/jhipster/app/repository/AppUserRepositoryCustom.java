@@ -0,0 +1,134 @@
+package my.jhipster.app.repository;
+
+import com.mongodb.bulk.BulkWriteError;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+import my.jhipster.app.domain.AppUser;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+/**
+ * Custom queries of the {@link AppUserRepository}, implemented with the {@link org.springframework.data.mongodb.core.MongoTemplate}.
+ */
+public interface AppUserRepositoryCustom {
+    /**
+     * Properties the app users can be sorted by: each one is backed by a compound index ending with {@code _id}.
+     */
+    Set<String> SORTABLE_PROPERTIES = Set.of("id", "username", "email", "lastName", "registeredDate");
+
+    /**
+     * Find the slice of app users following a cursor, in the order of the sort property of the pageable.
+     * <p>
+     * Users sharing the same value are ordered by id, so the id and the value of the last user of a slice are enough to seek
+     * the next one. The value is read from the last user when it is not given.
+     * <p>
+     * The user groups of all the app users of the slice are read with a single query, instead of one per app user.
+     *
+     * @param after the id of the last app user of the previous slice, or {@code null} for the first slice.
+     * @param afterValue the value of the sort property of the last app user of the previous slice, as a string, or {@code null}
+     * to read it from this app user.
+     * @param pageable the size and the sort of the slice, sorted on at most one of the {@link #SORTABLE_PROPERTIES}.
+     * @param withUserGroups whether to read the user groups of the app users, which are left empty otherwise.
+     * @return the slice of app users.
+     * @throws org.springframework.dao.EmptyResultDataAccessException if the value must be read, and there is no app user with
+     * the {@code after} id.
+     * @throws IllegalArgumentException if the value is not one of the sort property.
+     */
+    Slice<AppUser> findAllAfter(Long after, String afterValue, Pageable pageable, boolean withUserGroups);
+
+    /**
+     * Stream all the app users, ordered by id, from a server side cursor.
+     * <p>
+     * The user groups are not loaded: the stream only holds one cursor batch of app users at a time.
+     * It must be closed to release the cursor, typically in a try-with-resources block.
+     *
+     * @return the stream of app users, without their user groups.
+     */
+    Stream<AppUser> streamAll();
+
+    /**
+     * Write app users with one unordered bulk write: the ones without id are inserted, the others replace the app user with the
+     * same id and increment its version, keeping its last login date. An app user with an id is never inserted, as its id would
+     * not come from the sequence.
+     * <p>
+     * A failing write does not prevent the other ones from being executed.
+     *
+     * @param appUsers the app users to write, at least one.
+     * @return the app users which could not be written, indexed by position in {@code appUsers}.
+     */
+    SaveAllResult saveAllUnordered(List<AppUser> appUsers);
+
+    /**
+     * Atomically set the non null fields of an app user on the stored app user with the same id, in one round trip.
+     * <p>
+     * The user groups and the last login date, which is managed by the server, are left unchanged.
+     *
+     * @param appUser the fields to update, the id of the app user to update and, if not {@code null}, the version it must have.
+     * @return the updated app user, or empty if there is no app user with this id and version.
+     */
+    Optional<AppUser> partialUpdate(AppUser appUser);
+
+    /**
+     * Replace the stored app user with the same id, and increment its version, in one round trip.
+     * <p>
+     * Unlike {@code save}, a app user which does not exist (anymore) is not created. The last login date, which is managed by
+     * the server, is kept as it is stored.
+     *
+     * @param appUser the new state of the app user, and the version the stored app user must have if not {@code null}: they are
+     * set to the new version and to the stored last login date of the app user when it is replaced.
+     * @return {@code true} if the app user was replaced, {@code false} if there is no app user with this id and version.
+     */
+    boolean replace(AppUser appUser);
+
+    /**
+     * Find an app user with all its user groups, with a single aggregation: the user groups the app user references are looked
+     * up on the server side, instead of resolving the references one by one. They are the same as the ones of
+     * {@link #findById(Long)} and {@link #findAllAfter(Long, String, Pageable, boolean)}.
+     *
+     * @param id the id of the app user.
+     * @return the app user with its user groups, or empty if there is no app user with this id.
+     */
+    Optional<AppUser> findOneWithUserGroups(Long id);
+
+    /**
+     * Set the last login date of app users, with one unordered bulk {@code $max} update: a date older than the stored one is
+     * ignored. The version is not incremented, as the last login date is managed by the server, and the change is not published.
+     *
+     * @param lastLoginDates the last login dates, by external user id of the app users. The dates of the external user ids
+     * which have no app user are ignored.
+     */
+    void updateLastLoginDates(Map<String, Instant> lastLoginDates);
+
+    /**
+     * Create or update app users from the claims of their identity provider, with one unordered bulk write.
+     * <p>
+     * The app users are matched by external user id. The ones which do not exist yet are inserted, with their missing names left
+     * empty, as they are required; their email must be given, as it is unique. The non null fields of the others are set, and
+     * their version incremented, only if they changed, so provisioning an app user again costs a single read.
+     *
+     * @param appUsers the external user ids of the app users and their fields from the claims, at most one per external user id.
+     * @return the external user ids of the app users which could not be written.
+     */
+    Set<String> provision(List<AppUser> appUsers);
+
+    /**
+     * Find an app user by id. The concurrent reads of the same app user are coalesced into one query by the
+     * {@link SingleFlight}.
+     *
+     * @param id the id of the app user.
+     * @return the app user, or empty if there is no app user with this id.
+     */
+    Optional<AppUser> findById(Long id);
+
+    /**
+     * The app users which could not be written by {@link #saveAllUnordered(List)}.
+     *
+     * @param errors the errors of the writes which failed.
+     * @param notFoundIndexes the positions of the app users with an id which matched no stored app user.
+     */
+    record SaveAllResult(List<BulkWriteError> errors, Set<Integer> notFoundIndexes) {}
+}
@@ -0,0 +1,421 @@
+package my.jhipster.app.repository;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import com.mongodb.DBRef;
+import com.mongodb.bulk.BulkWriteError;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import my.jhipster.app.domain.AppUser;
+import my.jhipster.app.domain.UserGroup;
+import org.bson.Document;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * Implementation of the {@link AppUserRepositoryCustom} fragment.
+ */
+public class AppUserRepositoryCustomImpl implements AppUserRepositoryCustom {
+
+    private static final String ID = "id";
+
+    private static final String ID_FIELD = "_id";
+
+    private static final String USER_GROUPS = "userGroups";
+
+    private static final String USER_GROUP_FIELD = "userGroup";
+
+    private static final String USER_GROUP_IDS = "userGroupIds";
+
+    private static final String APP_USER = "appUser";
+
+    private static final String EXTERNAL_USER_ID = "externalUserId";
+
+    private static final String LAST_LOGIN_DATE = "lastLoginDate";
+
+    private static final String USERNAME = "username";
+
+    private static final String FIRST_NAME = "firstName";
+
+    private static final String LAST_NAME = "lastName";
+
+    private static final String EMAIL = "email";
+
+    private static final int STREAM_BATCH_SIZE = 1000;
+
+    private final MongoTemplate mongoTemplate;
+
+    private final EntityCacheEvictor entityCacheEvictor;
+
+    private final SingleFlight singleFlight;
+
+    public AppUserRepositoryCustomImpl(MongoTemplate mongoTemplate, EntityCacheEvictor entityCacheEvictor, SingleFlight singleFlight) {
+        this.mongoTemplate = mongoTemplate;
+        this.entityCacheEvictor = entityCacheEvictor;
+        this.singleFlight = singleFlight;
+    }
+
+    @Override
+    public Optional<AppUser> findById(Long id) {
+        return singleFlight.load(AppUser.class, id, () -> Optional.ofNullable(mongoTemplate.findById(id, AppUser.class)));
+    }
+
+    @Override
+    public Slice<AppUser> findAllAfter(Long after, String afterValue, Pageable pageable, boolean withUserGroups) {
+        Sort.Order order = pageable.getSort().stream().findFirst().orElse(Sort.Order.asc(ID));
+        Query query = new Query().with(ID.equals(order.getProperty()) ? Sort.by(order) : Sort.by(order, order.withProperty(ID)));
+        if (after != null) {
+            query.addCriteria(seekCriteria(order, after, afterValue));
+        }
+        if (!withUserGroups) {
+            query.fields().exclude(USER_GROUPS);
+        }
+        // Read one more element to know whether there is a next slice, without counting the collection
+        query.limit(pageable.getPageSize() + 1);
+        List<Document> documents = mongoTemplate.query(AppUser.class).as(Document.class).matching(query).all();
+        boolean hasNext = documents.size() > pageable.getPageSize();
+        List<AppUser> content = readWithUserGroups(hasNext ? documents.subList(0, pageable.getPageSize()) : documents);
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+    /**
+     * Read app user documents, resolving the user groups they reference with one {@code $in} query for all of them, as the
+     * mapping would resolve the {@link org.springframework.data.mongodb.core.mapping.DBRef}s of each app user separately.
+     */
+    private List<AppUser> readWithUserGroups(List<Document> documents) {
+        List<AppUser> appUsers = new ArrayList<>(documents.size());
+        Map<Object, List<AppUser>> appUsersByUserGroupId = new HashMap<>();
+        for (Document document : documents) {
+            Object userGroupRefs = document.remove(USER_GROUP_FIELD);
+            AppUser appUser = mongoTemplate.getConverter().read(AppUser.class, document);
+            appUsers.add(appUser);
+            if (userGroupRefs instanceof List<?> refs) {
+                for (Object ref : refs) {
+                    if (ref instanceof DBRef dbRef) {
+                        appUsersByUserGroupId.computeIfAbsent(dbRef.getId(), id -> new ArrayList<>()).add(appUser);
+                    }
+                }
+            }
+        }
+        if (!appUsersByUserGroupId.isEmpty()) {
+            Query query = Query.query(where(ID).in(appUsersByUserGroupId.keySet()));
+            // The app user of each user group is set from the app users already read
+            query.fields().exclude(APP_USER);
+            for (UserGroup userGroup : mongoTemplate.find(query, UserGroup.class)) {
+                appUsersByUserGroupId.get(userGroup.getId()).forEach(appUser -> appUser.addUserGroup(userGroup));
+            }
+        }
+        return appUsers;
+    }
+
+    @Override
+    public Stream<AppUser> streamAll() {
+        Query query = new Query().with(Sort.by(ID)).cursorBatchSize(STREAM_BATCH_SIZE);
+        // Resolving the DBRefs would cost one extra query per app user
+        query.fields().exclude(USER_GROUPS);
+        return mongoTemplate.stream(query, AppUser.class);
+    }
+
+    @Override
+    public SaveAllResult saveAllUnordered(List<AppUser> appUsers) {
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, AppUser.class);
+        List<Integer> replacedIndexes = new ArrayList<>();
+        for (int i = 0; i < appUsers.size(); i++) {
+            AppUser appUser = appUsers.get(i);
+            if (appUser.getId() == null) {
+                // Unlike insert(), the bulk writes do not initialize the version
+                appUser.setVersion(0L);
+                bulkOperations.insert(appUser);
+            } else {
+                replacedIndexes.add(i);
+                bulkOperations.updateOne(
+                    Query.query(where(ID).is(appUser.getId())),
+                    VersionedReplacement.of(mongoTemplate.getConverter(), appUser, LAST_LOGIN_DATE)
+                );
+            }
+        }
+        List<BulkWriteError> errors;
+        int matchedCount;
+        try {
+            matchedCount = bulkOperations.execute().getMatchedCount();
+            errors = List.of();
+        } catch (BulkOperationException e) {
+            matchedCount = e.getResult().getMatchedCount();
+            errors = e.getErrors();
+        } finally {
+            // The updates do not publish any after save event
+            entityCacheEvictor.evict(AppUser.class, replacedIndexes.stream().map(i -> appUsers.get(i).getId()).toList());
+        }
+        return new SaveAllResult(errors, notFoundIndexes(appUsers, replacedIndexes, errors, matchedCount));
+    }
+
+    /**
+     * The bulk write result only counts the matched documents: the missing ones are only read when the count falls short.
+     */
+    private Set<Integer> notFoundIndexes(
+        List<AppUser> appUsers,
+        List<Integer> replacedIndexes,
+        List<BulkWriteError> errors,
+        int matchedCount
+    ) {
+        Set<Integer> failedIndexes = errors.stream().map(BulkWriteError::getIndex).collect(Collectors.toSet());
+        List<Integer> writtenIndexes = replacedIndexes.stream().filter(i -> !failedIndexes.contains(i)).toList();
+        if (matchedCount >= writtenIndexes.size()) {
+            return Set.of();
+        }
+        Query query = Query.query(where(ID).in(writtenIndexes.stream().map(i -> appUsers.get(i).getId()).toList()));
+        query.fields().include(ID);
+        Set<Long> existingIds = mongoTemplate.find(query, AppUser.class).stream().map(AppUser::getId).collect(Collectors.toSet());
+        return writtenIndexes.stream().filter(i -> !existingIds.contains(appUsers.get(i).getId())).collect(Collectors.toSet());
+    }
+
+    @Override
+    public void updateLastLoginDates(Map<String, Instant> lastLoginDates) {
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, AppUser.class);
+        lastLoginDates.forEach((externalUserId, lastLoginDate) -> {
+            Date date = Date.from(lastLoginDate);
+            bulkOperations.updateOne(
+                // Only the app users whose date moves forward are matched, so that the others are not evicted
+                Query.query(
+                    where(EXTERNAL_USER_ID).is(externalUserId).orOperator(where(LAST_LOGIN_DATE).lt(date), where(LAST_LOGIN_DATE).isNull())
+                ),
+                // The last login date is managed by the server: it is not part of the version, nor of the entity tag
+                new Update().max(LAST_LOGIN_DATE, date)
+            );
+        });
+        try {
+            bulkOperations.execute();
+        } finally {
+            // The updates do not publish any after save event, nor tell the ids of the updated app users
+            Query query = Query.query(where(EXTERNAL_USER_ID).in(lastLoginDates.keySet()));
+            query.fields().include(ID);
+            entityCacheEvictor.evictUnpublished(
+                AppUser.class,
+                mongoTemplate.find(query, AppUser.class).stream().map(AppUser::getId).toList()
+            );
+        }
+    }
+
+    @Override
+    public Set<String> provision(List<AppUser> appUsers) {
+        Query query = Query.query(where(EXTERNAL_USER_ID).in(appUsers.stream().map(AppUser::getExternalUserId).toList()));
+        query.fields().include(ID, EXTERNAL_USER_ID, USERNAME, FIRST_NAME, LAST_NAME, EMAIL);
+        Map<String, AppUser> storedAppUsers = new HashMap<>();
+        for (AppUser storedAppUser : mongoTemplate.find(query, AppUser.class)) {
+            storedAppUsers.put(storedAppUser.getExternalUserId(), storedAppUser);
+        }
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, AppUser.class);
+        List<AppUser> written = new ArrayList<>();
+        List<Long> updatedIds = new ArrayList<>();
+        for (AppUser appUser : appUsers) {
+            AppUser storedAppUser = storedAppUsers.get(appUser.getExternalUserId());
+            if (storedAppUser == null) {
+                appUser.setFirstName(Objects.requireNonNullElse(appUser.getFirstName(), ""));
+                appUser.setLastName(Objects.requireNonNullElse(appUser.getLastName(), ""));
+                appUser.setRegisteredDate(ZonedDateTime.now());
+                appUser.setVersion(0L);
+                bulkOperations.insert(appUser);
+                written.add(appUser);
+                continue;
+            }
+            Update update = new Update();
+            List<Criteria> changes = new ArrayList<>();
+            setIfChanged(update, changes, USERNAME, storedAppUser.getUsername(), appUser.getUsername());
+            setIfChanged(update, changes, FIRST_NAME, storedAppUser.getFirstName(), appUser.getFirstName());
+            setIfChanged(update, changes, LAST_NAME, storedAppUser.getLastName(), appUser.getLastName());
+            setIfChanged(update, changes, EMAIL, storedAppUser.getEmail(), appUser.getEmail());
+            if (!changes.isEmpty()) {
+                // Matching the changes again keeps the version of an app user which got the same fields meanwhile
+                bulkOperations.updateOne(
+                    Query.query(where(ID).is(storedAppUser.getId()).orOperator(changes)),
+                    update.inc(VersionedReplacement.VERSION, 1)
+                );
+                written.add(appUser);
+                updatedIds.add(storedAppUser.getId());
+            }
+        }
+        if (written.isEmpty()) {
+            return Set.of();
+        }
+        try {
+            bulkOperations.execute();
+            return Set.of();
+        } catch (BulkOperationException e) {
+            return e.getErrors().stream().map(error -> written.get(error.getIndex()).getExternalUserId()).collect(Collectors.toSet());
+        } finally {
+            // The updates do not publish any after save event, unlike the inserts
+            entityCacheEvictor.evict(AppUser.class, updatedIds);
+        }
+    }
+
+    private static void setIfChanged(Update update, List<Criteria> changes, String property, Object storedValue, Object value) {
+        if (value != null && !value.equals(storedValue)) {
+            update.set(property, value);
+            changes.add(where(property).ne(value));
+        }
+    }
+
+    @Override
+    public Optional<AppUser> findOneWithUserGroups(Long id) {
+        Aggregation aggregation = Aggregation.newAggregation(
+            Aggregation.match(where(ID_FIELD).is(id)),
+            // The user groups are the ones referenced by the app user, like when its references are resolved; the "$id" field of
+            // each reference is only reachable with $getField, as a field path can't name it
+            context ->
+                new Document(
+                    "$addFields",
+                    new Document(
+                        USER_GROUP_IDS,
+                        new Document(
+                            "$map",
+                            new Document("input", new Document("$ifNull", List.of("$" + USER_GROUP_FIELD, List.of()))).append(
+                                "in",
+                                new Document("$getField", new Document("field", new Document("$literal", "$id")).append("input", "$$this"))
+                            )
+                        )
+                    )
+                ),
+            Aggregation.lookup()
+                .from(mongoTemplate.getCollectionName(UserGroup.class))
+                .localField(USER_GROUP_IDS)
+                .foreignField(ID_FIELD)
+                .pipeline(Aggregation.project().andExclude(APP_USER))
+                .as(USER_GROUP_FIELD)
+        );
+        Document document = mongoTemplate.aggregate(aggregation, mongoTemplate.getCollectionName(AppUser.class), Document.class).getUniqueMappedResult();
+        if (document == null) {
+            return Optional.empty();
+        }
+        document.remove(USER_GROUP_IDS);
+        List<?> userGroupDocuments = document.remove(USER_GROUP_FIELD) instanceof List<?> list ? list : List.of();
+        AppUser appUser = mongoTemplate.getConverter().read(AppUser.class, document);
+        for (Object userGroupDocument : userGroupDocuments) {
+            appUser.addUserGroup(mongoTemplate.getConverter().read(UserGroup.class, (Document) userGroupDocument));
+        }
+        return Optional.of(appUser);
+    }
+
+    @Override
+    public boolean replace(AppUser appUser) {
+        Query query = versionedQuery(appUser.getId(), appUser.getVersion());
+        query.fields().include(VersionedReplacement.VERSION, LAST_LOGIN_DATE);
+        AppUser replaced = mongoTemplate.findAndModify(
+            query,
+            VersionedReplacement.of(mongoTemplate.getConverter(), appUser, LAST_LOGIN_DATE),
+            FindAndModifyOptions.options().returnNew(true),
+            AppUser.class
+        );
+        // findAndModify does not publish any after save event
+        entityCacheEvictor.evict(AppUser.class, List.of(appUser.getId()));
+        if (replaced == null) {
+            return false;
+        }
+        appUser.setVersion(replaced.getVersion());
+        appUser.setLastLoginDate(replaced.getLastLoginDate());
+        return true;
+    }
+
+    @Override
+    public Optional<AppUser> partialUpdate(AppUser appUser) {
+        Query query = versionedQuery(appUser.getId(), appUser.getVersion());
+        Update update = new Update();
+        setIfNotNull(update, "externalUserId", appUser.getExternalUserId());
+        setIfNotNull(update, "username", appUser.getUsername());
+        setIfNotNull(update, "firstName", appUser.getFirstName());
+        setIfNotNull(update, "lastName", appUser.getLastName());
+        setIfNotNull(update, "email", appUser.getEmail());
+        setIfNotNull(update, "registeredDate", appUser.getRegisteredDate());
+        if (update.getUpdateObject().isEmpty()) {
+            // An empty $set is rejected by MongoDB
+            return Optional.ofNullable(mongoTemplate.findOne(query, AppUser.class));
+        }
+        AppUser updated = mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), AppUser.class);
+        // findAndModify does not publish any after save event
+        entityCacheEvictor.evict(AppUser.class, List.of(appUser.getId()));
+        return Optional.ofNullable(updated);
+    }
+
+    private static Query versionedQuery(Long id, Long version) {
+        Query query = Query.query(where(ID).is(id));
+        if (version != null) {
+            query.addCriteria(where(VersionedReplacement.VERSION).is(version));
+        }
+        return query;
+    }
+
+    private static void setIfNotNull(Update update, String property, Object value) {
+        if (value != null) {
+            update.set(property, value);
+        }
+    }
+
+    private Criteria seekCriteria(Sort.Order order, Long after, String afterValue) {
+        Criteria idAfterCursor = order.isAscending() ? where(ID).gt(after) : where(ID).lt(after);
+        String property = order.getProperty();
+        if (ID.equals(property)) {
+            return idAfterCursor;
+        }
+        Object value = afterValue == null ? cursorValue(property, after) : parseCursorValue(property, afterValue);
+        // null values are the smallest ones: they all come before a non null cursor in ascending order, after it in descending order
+        if (value == null) {
+            return order.isAscending()
+                ? new Criteria().orOperator(where(property).ne(null), where(property).is(null).andOperator(idAfterCursor))
+                : where(property).is(null).andOperator(idAfterCursor);
+        }
+        return order.isAscending()
+            ? new Criteria().orOperator(where(property).gt(value), where(property).is(value).andOperator(idAfterCursor))
+            : new Criteria().orOperator(
+                where(property).lt(value),
+                where(property).is(value).andOperator(idAfterCursor),
+                where(property).is(null)
+            );
+    }
+
+    private Object cursorValue(String property, Long after) {
+        Query query = Query.query(where(ID).is(after));
+        query.fields().include(property);
+        AppUser cursor = mongoTemplate.findOne(query, AppUser.class);
+        if (cursor == null) {
+            throw new EmptyResultDataAccessException("No AppUser with id " + after, 1);
+        }
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(AppUser.class);
+        return entity.getPropertyAccessor(cursor).getProperty(entity.getRequiredPersistentProperty(property));
+    }
+
+    private Object parseCursorValue(String property, String afterValue) {
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(AppUser.class);
+        Class<?> type = entity.getRequiredPersistentProperty(property).getType();
+        try {
+            // The conversion service of the converter only reads the dates stored by MongoDB
+            return ZonedDateTime.class.equals(type)
+                ? ZonedDateTime.parse(afterValue)
+                : mongoTemplate.getConverter().getConversionService().convert(afterValue, type);
+        } catch (DateTimeParseException | ConversionException e) {
+            throw new IllegalArgumentException("Invalid " + property + " cursor: " + afterValue, e);
+        }
+    }
+}
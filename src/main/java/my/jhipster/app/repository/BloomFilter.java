@@ -0,0 +1,111 @@
+package my.jhipster.app.repository;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A set of strings which may tell that it contains a string it does not, but never the other way around.
+ * <p>
+ * Each string sets a few bits of a fixed bit array, chosen by as many hashes derived from two 64-bit hashes of the string. The
+ * bits are set with compare-and-set operations, so strings are added and looked up concurrently without locking.
+ */
+final class BloomFilter {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final AtomicLongArray words;
+
+    private final long bitCount;
+
+    private final int hashCount;
+
+    private final AtomicLong setBitCount = new AtomicLong();
+
+    private BloomFilter(long bitCount, int hashCount) {
+        this.words = new AtomicLongArray(Math.toIntExact((bitCount + Long.SIZE - 1) / Long.SIZE));
+        this.bitCount = (long) words.length() * Long.SIZE;
+        this.hashCount = hashCount;
+    }
+
+    /**
+     * Create a filter sized for a number of strings.
+     *
+     * @param expectedInsertions the number of strings the filter is expected to contain.
+     * @param falsePositiveProbability the probability to tell that a string is contained while it is not, once the filter
+     * contains the expected number of strings.
+     * @return the empty filter.
+     */
+    static BloomFilter create(long expectedInsertions, double falsePositiveProbability) {
+        long insertions = Math.max(1, expectedInsertions);
+        long bitCount = (long) Math.ceil(-insertions * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+        int hashCount = Math.max(1, (int) Math.round((double) bitCount / insertions * Math.log(2)));
+        return new BloomFilter(Math.max(Long.SIZE, bitCount), hashCount);
+    }
+
+    void put(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ FNV_PRIME) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long word = words.get(index);
+            while ((word & mask) == 0) {
+                if (words.compareAndSet(index, word, word | mask)) {
+                    setBitCount.incrementAndGet();
+                    break;
+                }
+                word = words.get(index);
+            }
+        }
+    }
+
+    boolean mightContain(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ FNV_PRIME) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the probability that a string which was not added is told to be contained, from the proportion of bits set.
+     */
+    double expectedFalsePositiveProbability() {
+        return Math.pow((double) setBitCount.get() / bitCount, hashCount);
+    }
+
+    /**
+     * @return the size of the bit array, in bytes.
+     */
+    long sizeInBytes() {
+        return bitCount / Byte.SIZE;
+    }
+
+    /**
+     * The 64-bit FNV-1a hash of the characters of the string, with its bits mixed.
+     */
+    private static long hash(String value) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * The finalizer of SplitMix64: every bit of the input affects every bit of the output.
+     */
+    private static long mix(long value) {
+        long z = value;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,240 @@
+package my.jhipster.app.repository;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import com.mongodb.client.model.changestream.UpdateDescription;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import my.jhipster.app.domain.AppUser;
+import my.jhipster.app.domain.UserGroup;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.messaging.ChangeStreamRequest;
+import org.springframework.data.mongodb.core.messaging.DefaultMessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.MessageListener;
+import org.springframework.data.mongodb.core.messaging.MessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.Subscription;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts the entities written by any node from the local caches, by listening to the change streams of their collections. The
+ * {@link EntityCacheEvictor} then publishes these writes.
+ * <p>
+ * The resume token of each change stream is stored in the {@value #RESUME_TOKENS_COLLECTION} collection, and the change streams
+ * resume from it on startup: the writes done while the caches were being filled, before the change streams were opened, are
+ * not missed. A change stream which fails clears its cache, as some writes may have been missed, and is resumed later.
+ * <p>
+ * The updates of the fields managed by the server alone, such as the last login date, evict their entity without being published.
+ * <p>
+ * Change streams require a replica set, so the invalidator only runs where {@code application.cache.change-stream.enabled} is
+ * set, as in the {@code prod} profile. Elsewhere, the time to live of the caches bounds the staleness of the entities.
+ */
+@Component
+@ConditionalOnProperty(prefix = "application.cache.change-stream", name = "enabled", havingValue = "true")
+public class ChangeStreamCacheInvalidator implements SmartLifecycle {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ChangeStreamCacheInvalidator.class);
+
+    public static final String RESUME_TOKENS_COLLECTION = "cache_resume_tokens";
+
+    private static final String ID_FIELD = "_id";
+
+    private static final String TOKEN_FIELD = "token";
+
+    private static final String UPDATED_AT_FIELD = "updatedAt";
+
+    private static final Duration SUBSCRIPTION_TIMEOUT = Duration.ofSeconds(5);
+
+    private static final Duration TOKEN_SAVE_INTERVAL = Duration.ofSeconds(1);
+
+    private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+
+    private final MongoTemplate mongoTemplate;
+
+    private final EntityCacheEvictor entityCacheEvictor;
+
+    private final List<String> collectionNames;
+
+    /**
+     * The fields managed by the server, whose updates alone are not published.
+     */
+    private final Set<String> unpublishedFieldNames;
+
+    private final Map<String, ChangeStream> changeStreams = new ConcurrentHashMap<>();
+
+    private MessageListenerContainer container;
+
+    public ChangeStreamCacheInvalidator(MongoTemplate mongoTemplate, EntityCacheEvictor entityCacheEvictor) {
+        this.mongoTemplate = mongoTemplate;
+        this.entityCacheEvictor = entityCacheEvictor;
+        this.collectionNames = List.of(mongoTemplate.getCollectionName(AppUser.class), mongoTemplate.getCollectionName(UserGroup.class));
+        this.unpublishedFieldNames = Set.of(
+            mongoTemplate
+                .getConverter()
+                .getMappingContext()
+                .getRequiredPersistentEntity(AppUser.class)
+                .getRequiredPersistentProperty("lastLoginDate")
+                .getFieldName()
+        );
+    }
+
+    @Override
+    public synchronized void start() {
+        container = new DefaultMessageListenerContainer(mongoTemplate);
+        container.start();
+        for (String collectionName : collectionNames) {
+            ChangeStream changeStream = new ChangeStream(collectionName, loadResumeToken(collectionName));
+            changeStreams.put(collectionName, changeStream);
+            subscribe(changeStream);
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (container == null) {
+            return;
+        }
+        container.stop();
+        container = null;
+        changeStreams.values().forEach(this::saveResumeToken);
+        changeStreams.clear();
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return container != null;
+    }
+
+    /**
+     * Resume the change streams which failed, from the last change they told.
+     */
+    @Scheduled(fixedDelay = 10_000)
+    public synchronized void resumeFailedChangeStreams() {
+        if (container == null) {
+            return;
+        }
+        for (ChangeStream changeStream : changeStreams.values()) {
+            if (changeStream.subscription != null && !changeStream.subscription.isActive()) {
+                LOG.info("Resuming the change stream of {}", changeStream.collectionName);
+                subscribe(changeStream);
+            }
+        }
+    }
+
+    private void subscribe(ChangeStream changeStream) {
+        MessageListener<ChangeStreamDocument<Document>, Document> listener = message -> onChange(changeStream, message.getRaw());
+        ChangeStreamRequest.ChangeStreamRequestBuilder<Document> request = ChangeStreamRequest.builder(listener).collection(
+            changeStream.collectionName
+        );
+        if (changeStream.resumeToken != null) {
+            request.resumeAfter(changeStream.resumeToken);
+        }
+        changeStream.subscription = container.register(request.build(), Document.class, error -> onError(changeStream, error));
+        try {
+            if (!changeStream.subscription.await(SUBSCRIPTION_TIMEOUT)) {
+                LOG.warn("The change stream of {} is not open yet, its cache may serve stale entities", changeStream.collectionName);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void onChange(ChangeStream changeStream, ChangeStreamDocument<Document> change) {
+        if (change == null) {
+            return;
+        }
+        BsonValue id = change.getDocumentKey() == null ? null : change.getDocumentKey().get(ID_FIELD);
+        // Drops, renames and invalidations of the collection clear the whole cache
+        entityCacheEvictor.evict(
+            changeStream.collectionName,
+            id != null && id.isNumber() ? List.of(id.asNumber().longValue()) : null,
+            !updatesUnpublishedFieldsOnly(change)
+        );
+        if (change.getOperationType() == OperationType.INVALIDATE) {
+            // A change stream cannot resume after its invalidation
+            changeStream.resumeToken = null;
+        } else {
+            changeStream.resumeToken = change.getResumeToken();
+            if (Instant.now().isAfter(changeStream.resumeTokenSavedAt.plus(TOKEN_SAVE_INTERVAL))) {
+                saveResumeToken(changeStream);
+            }
+        }
+    }
+
+    private boolean updatesUnpublishedFieldsOnly(ChangeStreamDocument<Document> change) {
+        UpdateDescription updateDescription = change.getUpdateDescription();
+        return (
+            change.getOperationType() == OperationType.UPDATE &&
+            updateDescription != null &&
+            updateDescription.getUpdatedFields() != null &&
+            (updateDescription.getRemovedFields() == null || updateDescription.getRemovedFields().isEmpty()) &&
+            unpublishedFieldNames.containsAll(updateDescription.getUpdatedFields().keySet())
+        );
+    }
+
+    private void onError(ChangeStream changeStream, Throwable error) {
+        LOG.warn("The change stream of {} failed, clearing its cache: {}", changeStream.collectionName, error.getMessage());
+        entityCacheEvictor.evict(changeStream.collectionName, null);
+        if (error instanceof MongoException mongoException && mongoException.getCode() == CHANGE_STREAM_HISTORY_LOST) {
+            // The resume token fell off the oplog
+            changeStream.resumeToken = null;
+        }
+    }
+
+    private BsonDocument loadResumeToken(String collectionName) {
+        Document document = mongoTemplate.findById(collectionName, Document.class, RESUME_TOKENS_COLLECTION);
+        return document != null && document.get(TOKEN_FIELD) instanceof Document token ? BsonDocument.parse(token.toJson()) : null;
+    }
+
+    private void saveResumeToken(ChangeStream changeStream) {
+        BsonDocument resumeToken = changeStream.resumeToken;
+        if (resumeToken == null) {
+            return;
+        }
+        changeStream.resumeTokenSavedAt = Instant.now();
+        try {
+            mongoTemplate.upsert(
+                Query.query(where(ID_FIELD).is(changeStream.collectionName)),
+                new Update().set(TOKEN_FIELD, Document.parse(resumeToken.toJson())).set(UPDATED_AT_FIELD, changeStream.resumeTokenSavedAt),
+                RESUME_TOKENS_COLLECTION
+            );
+        } catch (RuntimeException e) {
+            LOG.warn("Could not save the resume token of the change stream of {}: {}", changeStream.collectionName, e.getMessage());
+        }
+    }
+
+    /**
+     * The change stream of a collection. Its changes are told one at a time, by the thread of its subscription.
+     */
+    private static final class ChangeStream {
+
+        private final String collectionName;
+
+        private volatile BsonDocument resumeToken;
+
+        private volatile Instant resumeTokenSavedAt = Instant.EPOCH;
+
+        private volatile Subscription subscription;
+
+        private ChangeStream(String collectionName, BsonDocument resumeToken) {
+            this.collectionName = collectionName;
+            this.resumeToken = resumeToken;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package my.jhipster.app.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import my.jhipster.app.config.ApplicationProperties;
+import my.jhipster.app.domain.AppUser;
+import my.jhipster.app.domain.UserGroup;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts the cached reads by id of the entities which are written.
+ * <p>
+ * Saves and deletes are caught through their mapping events. The writes which do not publish any, such as
+ * {@code findAndModify}, must call {@link #evict(Class, Collection)}. The writes of the other nodes are evicted by the
+ * {@link ChangeStreamCacheInvalidator}.
+ * <p>
+ * The entities reference each other through DBRefs, which are resolved when they are read: a write also evicts the cached
+ * instances of the other entities which reference the written one, as they hold a stale copy of it.
+ * <p>
+ * Each write is then published as an {@link EntityChangedEvent}. When the change streams are enabled, they also tell the writes
+ * of this node, so only the writes they tell are published: each write is published once, in the order of the oplog.
+ */
+@Component
+public class EntityCacheEvictor extends AbstractMongoEventListener<Object> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EntityCacheEvictor.class);
+
+    private static final String ID_FIELD = "_id";
+
+    private final List<CachedEntity> cachedEntities;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final boolean publishLocalWrites;
+
+    public EntityCacheEvictor(
+        CacheManager cacheManager,
+        MongoMappingContext mappingContext,
+        ApplicationEventPublisher eventPublisher,
+        ApplicationProperties applicationProperties
+    ) {
+        this.eventPublisher = eventPublisher;
+        this.publishLocalWrites = !applicationProperties.getCache().getChangeStream().isEnabled();
+        this.cachedEntities = List.of(
+            new CachedEntity(
+                AppUser.class,
+                mappingContext.getRequiredPersistentEntity(AppUser.class).getCollection(),
+                cacheManager.getCache(AppUserRepository.APP_USERS_BY_ID_CACHE),
+                cacheManager.getCache(AppUserRepository.APP_USER_EXISTS_BY_ID_CACHE),
+                appUser ->
+                    ((AppUser) appUser).getUserGroups() == null
+                        ? Stream.empty()
+                        : ((AppUser) appUser).getUserGroups().stream().map(UserGroup::getId)
+            ),
+            new CachedEntity(
+                UserGroup.class,
+                mappingContext.getRequiredPersistentEntity(UserGroup.class).getCollection(),
+                cacheManager.getCache(UserGroupRepository.USER_GROUPS_BY_ID_CACHE),
+                cacheManager.getCache(UserGroupRepository.USER_GROUP_EXISTS_BY_ID_CACHE),
+                userGroup -> Stream.ofNullable(((UserGroup) userGroup).getAppUser()).map(AppUser::getId)
+            )
+        );
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Object> event) {
+        Object id = event.getDocument() == null ? null : event.getDocument().get(ID_FIELD);
+        evictLocalWrite(event.getCollectionName(), id == null ? null : List.of(id));
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Object> event) {
+        // The document is the query of the delete: any query other than an id, such as {_id: {$in: [...]}}, clears the cache
+        Object id = event.getDocument() == null ? null : event.getDocument().get(ID_FIELD);
+        evictLocalWrite(event.getCollectionName(), id == null || id instanceof Document ? null : List.of(id));
+    }
+
+    /**
+     * Evict the cached reads of entities which were written without publishing a mapping event.
+     *
+     * @param entityClass the class of the written entities.
+     * @param ids the ids of the written entities.
+     */
+    public void evict(Class<?> entityClass, Collection<?> ids) {
+        cachedEntities
+            .stream()
+            .filter(cachedEntity -> cachedEntity.entityClass().equals(entityClass))
+            .findFirst()
+            .ifPresent(cachedEntity -> evict(cachedEntity, ids, publishLocalWrites));
+    }
+
+    /**
+     * Evict the cached reads of entities whose fields managed by the server only were written, without publishing the write: the
+     * clients are not told about these fields.
+     *
+     * @param entityClass the class of the written entities.
+     * @param ids the ids of the written entities.
+     */
+    public void evictUnpublished(Class<?> entityClass, Collection<?> ids) {
+        cachedEntities
+            .stream()
+            .filter(cachedEntity -> cachedEntity.entityClass().equals(entityClass))
+            .findFirst()
+            .ifPresent(cachedEntity -> evict(cachedEntity, ids, false));
+    }
+
+    /**
+     * Evict the cached reads of entities which were written by any node, as told by a change stream, and publish their write.
+     *
+     * @param collectionName the collection of the written entities.
+     * @param ids the ids of the written entities, or {@code null} if they are unknown and the whole cache must be cleared.
+     */
+    public void evict(String collectionName, Collection<?> ids) {
+        evict(collectionName, ids, true);
+    }
+
+    /**
+     * Evict the cached reads of entities which were written by any node, as told by a change stream.
+     *
+     * @param collectionName the collection of the written entities.
+     * @param ids the ids of the written entities, or {@code null} if they are unknown and the whole cache must be cleared.
+     * @param publish whether to publish the write, which is not when only fields managed by the server were written.
+     */
+    public void evict(String collectionName, Collection<?> ids, boolean publish) {
+        cachedEntities
+            .stream()
+            .filter(cachedEntity -> cachedEntity.collectionName().equals(collectionName))
+            .findFirst()
+            .ifPresent(cachedEntity -> evict(cachedEntity, ids, publish));
+    }
+
+    private void evictLocalWrite(String collectionName, Collection<?> ids) {
+        cachedEntities
+            .stream()
+            .filter(cachedEntity -> cachedEntity.collectionName().equals(collectionName))
+            .findFirst()
+            .ifPresent(cachedEntity -> evict(cachedEntity, ids, publishLocalWrites));
+    }
+
+    /**
+     * @param ids the ids of the written entities, or {@code null} if they are unknown and the whole cache must be cleared.
+     * @param publish whether to publish the write once it is evicted.
+     */
+    private void evict(CachedEntity written, Collection<?> ids, boolean publish) {
+        LOG.debug("Evicting cached {} with ids {}", written.entityClass().getSimpleName(), ids);
+        for (CachedEntity cachedEntity : cachedEntities) {
+            if (cachedEntity != written) {
+                evictReferencing(cachedEntity, ids);
+            } else if (ids == null) {
+                cachedEntity.byId().clear();
+                cachedEntity.existsById().clear();
+            } else {
+                for (Object id : ids) {
+                    cachedEntity.byId().evict(id);
+                    cachedEntity.existsById().evict(id);
+                }
+            }
+        }
+        if (publish) {
+            eventPublisher.publishEvent(new EntityChangedEvent(written.entityClass(), ids));
+        }
+    }
+
+    /**
+     * Evict the cached instances of an entity which reference any of the written entities, by scanning the cache: the
+     * references are not indexed, and a write is much rarer than a read.
+     */
+    private static void evictReferencing(CachedEntity cachedEntity, Collection<?> ids) {
+        if (ids == null || !(cachedEntity.byId().getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> cache)) {
+            cachedEntity.byId().clear();
+            return;
+        }
+        cache
+            .asMap()
+            .values()
+            .removeIf(value -> cachedEntity.references().apply(value).anyMatch(id -> id != null && ids.contains(id)));
+    }
+
+    /**
+     * @param references the ids of the entities of the other class which a cached instance references.
+     */
+    private record CachedEntity(
+        Class<?> entityClass,
+        String collectionName,
+        Cache byId,
+        Cache existsById,
+        Function<Object, Stream<Long>> references
+    ) {}
+}
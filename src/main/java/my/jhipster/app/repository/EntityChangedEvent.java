@@ -0,0 +1,14 @@
+package my.jhipster.app.repository;
+
+import java.util.Collection;
+
+/**
+ * Published once entities were written, by this node or by another node, and evicted from the caches.
+ * <p>
+ * The event does not tell how the entities were written: the listeners read them again, and the entities which cannot be found
+ * were deleted.
+ *
+ * @param entityClass the class of the written entities.
+ * @param ids the ids of the written entities, or {@code null} if they are unknown and any entity may have been written.
+ */
+public record EntityChangedEvent(Class<?> entityClass, Collection<?> ids) {}
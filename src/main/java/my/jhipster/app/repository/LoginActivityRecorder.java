@@ -0,0 +1,125 @@
+package my.jhipster.app.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records the last login date of the app users in memory, and writes them behind, in periodic bulk updates.
+ * <p>
+ * Recording a date costs no write: the dates recorded for the same app user between two flushes are coalesced into the latest
+ * one, in a {@link ConcurrentHashMap} whose bins are locked independently, so the requests of different users do not contend.
+ * The pending dates are written on shutdown, once the web server stopped serving requests; only a crash loses them.
+ * <p>
+ * The {@value #PENDING_METRIC} gauge tells how many dates wait for the next flush, and the {@value #FLUSH_METRIC} timer how long
+ * the flushes take.
+ */
+@Component
+public class LoginActivityRecorder implements SmartLifecycle {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LoginActivityRecorder.class);
+
+    public static final String PENDING_METRIC = "repository.login.activity.pending";
+
+    public static final String FLUSH_METRIC = "repository.login.activity.flush";
+
+    /**
+     * Stopped after the web server, which stops in the {@code DEFAULT_PHASE - 2048} phase.
+     */
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final ConcurrentMap<String, Instant> lastLoginDates = new ConcurrentHashMap<>();
+
+    private final AppUserRepository appUserRepository;
+
+    private final Timer flushTimer;
+
+    /**
+     * Flushes one at a time, without pinning the carrier thread of a virtual thread while writing, unlike a monitor.
+     */
+    private final Lock flushLock = new ReentrantLock();
+
+    private volatile boolean running;
+
+    public LoginActivityRecorder(AppUserRepository appUserRepository, MeterRegistry meterRegistry) {
+        this.appUserRepository = appUserRepository;
+        meterRegistry.gaugeMapSize(PENDING_METRIC, Tags.empty(), lastLoginDates);
+        this.flushTimer = Timer.builder(FLUSH_METRIC).description("Writes of the recorded last login dates").register(meterRegistry);
+    }
+
+    /**
+     * Record that an app user logged in, or was active.
+     *
+     * @param externalUserId the external user id of the app user.
+     * @param date the date of its activity.
+     */
+    public void record(String externalUserId, Instant date) {
+        lastLoginDates.merge(externalUserId, date, (recorded, newer) -> newer.isAfter(recorded) ? newer : recorded);
+    }
+
+    /**
+     * Write the dates recorded since the previous flush.
+     */
+    @Scheduled(fixedDelayString = "${application.login-activity.flush-interval:PT10S}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            doFlush();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void doFlush() {
+        if (lastLoginDates.isEmpty()) {
+            return;
+        }
+        Map<String, Instant> flushed = new HashMap<>();
+        for (Map.Entry<String, Instant> entry : lastLoginDates.entrySet()) {
+            // A date recorded meanwhile stays for the next flush
+            if (lastLoginDates.remove(entry.getKey(), entry.getValue())) {
+                flushed.put(entry.getKey(), entry.getValue());
+            }
+        }
+        try {
+            flushTimer.record(() -> appUserRepository.updateLastLoginDates(flushed));
+        } catch (RuntimeException e) {
+            LOG.warn("Could not write {} last login dates, retrying on next flush: {}", flushed.size(), e.getMessage());
+            // Writing a date again is harmless, as older dates are ignored
+            flushed.forEach(this::record);
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        flush();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+}
@@ -0,0 +1,109 @@
+package my.jhipster.app.repository;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import my.jhipster.app.config.ApplicationProperties;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+/**
+ * Generates {@code Long} ids with a hi/lo algorithm.
+ * <p>
+ * Each sequence is a counter of the {@value #COUNTERS_COLLECTION} collection. A node reserves a block of ids with one atomic
+ * {@code $inc} of the counter, then hands them out from memory without locking. Nodes never get the same id, and only one id
+ * per block costs a round trip to the database.
+ */
+@Component
+public class SequenceGenerator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SequenceGenerator.class);
+
+    public static final String COUNTERS_COLLECTION = "counters";
+
+    public static final String VALUE_FIELD = "seq";
+
+    private static final Block EXHAUSTED = new Block(0, 0);
+
+    private final MongoTemplate mongoTemplate;
+
+    private final int blockSize;
+
+    private final ConcurrentMap<String, AtomicReference<Block>> blocks = new ConcurrentHashMap<>();
+
+    /**
+     * Not a monitor: a virtual thread waiting for the database inside a {@code synchronized} block would pin its carrier thread.
+     */
+    private final ConcurrentMap<String, Lock> reserveLocks = new ConcurrentHashMap<>();
+
+    public SequenceGenerator(MongoTemplate mongoTemplate, ApplicationProperties applicationProperties) {
+        this.mongoTemplate = mongoTemplate;
+        this.blockSize = applicationProperties.getSequence().getBlockSize();
+    }
+
+    /**
+     * Get the next id of a sequence.
+     *
+     * @param sequence the name of the sequence.
+     * @return an id which was never returned before, by any node.
+     */
+    public long nextId(String sequence) {
+        AtomicReference<Block> current = blocks.computeIfAbsent(sequence, name -> new AtomicReference<>(EXHAUSTED));
+        while (true) {
+            Block block = current.get();
+            long id = block.next.getAndIncrement();
+            if (id < block.end) {
+                return id;
+            }
+            Lock reserveLock = reserveLocks.computeIfAbsent(sequence, name -> new ReentrantLock());
+            reserveLock.lock();
+            try {
+                // Another thread may have reserved the next block in the meantime
+                if (current.get() == block) {
+                    current.set(reserveBlock(sequence));
+                }
+            } finally {
+                reserveLock.unlock();
+            }
+        }
+    }
+
+    private Block reserveBlock(String sequence) {
+        Document counter = mongoTemplate.findAndModify(
+            Query.query(where("_id").is(sequence)),
+            new Update().inc(VALUE_FIELD, blockSize),
+            FindAndModifyOptions.options().returnNew(true).upsert(true),
+            Document.class,
+            COUNTERS_COLLECTION
+        );
+        long end = counter.get(VALUE_FIELD, Number.class).longValue() + 1;
+        LOG.debug("Reserved ids [{}, {}) of sequence {}", end - blockSize, end, sequence);
+        return new Block(end - blockSize, end);
+    }
+
+    /**
+     * A block of reserved ids, from {@code next} included to {@code end} excluded.
+     */
+    private static final class Block {
+
+        private final AtomicLong next;
+
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package my.jhipster.app.repository;
+
+import org.springframework.data.mapping.PersistentPropertyAccessor;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertCallback;
+import org.springframework.stereotype.Component;
+
+/**
+ * Assigns an id from the {@link SequenceGenerator} to the entities with a {@code Long} id which are saved without one.
+ * <p>
+ * The sequence of an entity is named after its collection.
+ */
+@Component
+public class SequenceIdBeforeConvertCallback implements BeforeConvertCallback<Object> {
+
+    private final MongoMappingContext mappingContext;
+
+    private final SequenceGenerator sequenceGenerator;
+
+    public SequenceIdBeforeConvertCallback(MongoMappingContext mappingContext, SequenceGenerator sequenceGenerator) {
+        this.mappingContext = mappingContext;
+        this.sequenceGenerator = sequenceGenerator;
+    }
+
+    @Override
+    public Object onBeforeConvert(Object entity, String collection) {
+        MongoPersistentEntity<?> persistentEntity = mappingContext.getPersistentEntity(entity.getClass());
+        if (persistentEntity == null || !persistentEntity.hasIdProperty()) {
+            return entity;
+        }
+        MongoPersistentProperty idProperty = persistentEntity.getRequiredIdProperty();
+        if (!Long.class.equals(idProperty.getType())) {
+            return entity;
+        }
+        PersistentPropertyAccessor<Object> accessor = persistentEntity.getPropertyAccessor(entity);
+        if (accessor.getProperty(idProperty) == null) {
+            accessor.setProperty(idProperty, sequenceGenerator.nextId(collection));
+        }
+        return accessor.getBean();
+    }
+}
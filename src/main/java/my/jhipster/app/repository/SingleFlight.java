@@ -0,0 +1,86 @@
+package my.jhipster.app.repository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Coalesces the concurrent reads of the same entity: the first caller reads it, the other ones wait for its result instead of
+ * reading it again.
+ * <p>
+ * It collapses the bursts of reads of a popular entity which is missing from the cache, typically after a deploy or a cache
+ * clear. The {@value #CALLS_METRIC} counter tells, per entity, how many reads were {@code loaded} or {@code coalesced}.
+ */
+@Component
+public class SingleFlight {
+
+    public static final String CALLS_METRIC = "repository.single.flight.calls";
+
+    public static final String IN_FLIGHT_METRIC = "repository.single.flight.in.flight";
+
+    private final ConcurrentMap<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Class<?>, Counter> loaded = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Class<?>, Counter> coalesced = new ConcurrentHashMap<>();
+
+    private final MeterRegistry meterRegistry;
+
+    public SingleFlight(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gaugeMapSize(IN_FLIGHT_METRIC, Tags.empty(), inFlight);
+    }
+
+    /**
+     * Read an entity, or wait for the result of the concurrent read of the same entity.
+     *
+     * @param entityClass the class of the entity.
+     * @param id the id of the entity.
+     * @param loader the read of the entity.
+     * @param <T> the type of the result of the read.
+     * @return the result of the read, shared by all the concurrent callers.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T load(Class<?> entityClass, Object id, Supplier<T> loader) {
+        Key key = new Key(entityClass, id);
+        CompletableFuture<Object> call = new CompletableFuture<>();
+        CompletableFuture<Object> concurrentCall = inFlight.putIfAbsent(key, call);
+        if (concurrentCall != null) {
+            counter(coalesced, entityClass, "coalesced").increment();
+            try {
+                return (T) concurrentCall.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        counter(loaded, entityClass, "loaded").increment();
+        try {
+            T result = loader.get();
+            call.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private Counter counter(ConcurrentMap<Class<?>, Counter> counters, Class<?> entityClass, String outcome) {
+        return counters.computeIfAbsent(entityClass, type ->
+            Counter.builder(CALLS_METRIC)
+                .description("Reads by id, loaded from the database or coalesced with a concurrent read")
+                .tag("entity", type.getSimpleName())
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+        );
+    }
+
+    private record Key(Class<?> entityClass, Object id) {}
+}
@@ -1,11 +1,28 @@
 package my.jhipster.app.repository;
 
+import java.util.Optional;
 import my.jhipster.app.domain.UserGroup;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
 /**
  * Spring Data MongoDB repository for the UserGroup entity.
+ * <p>
+ * The reads by id are cached, and evicted by the {@link EntityCacheEvictor} when a user group is written.
+ * The instances they return are the cached ones, shared by all the readers: they must not be modified.
  */
 @Repository
-public interface UserGroupRepository extends MongoRepository<UserGroup, Long> {}
+public interface UserGroupRepository extends UserGroupRepositoryCustom, MongoRepository<UserGroup, Long> {
+    String USER_GROUPS_BY_ID_CACHE = "userGroupsById";
+
+    String USER_GROUP_EXISTS_BY_ID_CACHE = "userGroupExistsById";
+
+    @Override
+    @Cacheable(cacheNames = USER_GROUPS_BY_ID_CACHE, unless = "#result == null")
+    Optional<UserGroup> findById(Long id);
+
+    @Override
+    @Cacheable(cacheNames = USER_GROUP_EXISTS_BY_ID_CACHE, unless = "!#result")
+    boolean existsById(Long id);
+}
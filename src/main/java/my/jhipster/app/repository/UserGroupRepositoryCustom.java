@@ -0,0 +1,53 @@
+package my.jhipster.app.repository;
+
+import java.util.Optional;
+import my.jhipster.app.domain.UserGroup;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+/**
+ * Custom queries of the {@link UserGroupRepository}, implemented with the {@link org.springframework.data.mongodb.core.MongoTemplate}.
+ */
+public interface UserGroupRepositoryCustom {
+    /**
+     * Find the slice of user groups following a cursor, ordered by id.
+     * <p>
+     * The app users of all the user groups of the slice are read with a single query, instead of one per user group.
+     *
+     * @param after the id of the last user group of the previous slice, or {@code null} for the first slice.
+     * @param pageable the size of the slice.
+     * @param withAppUser whether to read the app user of the user groups, which is left {@code null} otherwise.
+     * @return the slice of user groups.
+     */
+    Slice<UserGroup> findAllAfter(Long after, Pageable pageable, boolean withAppUser);
+
+    /**
+     * Atomically set the non null fields of a user group on the stored user group with the same id, in one round trip.
+     * <p>
+     * The app user is left unchanged.
+     *
+     * @param userGroup the fields to update, the id of the user group to update and, if not {@code null}, the version it must have.
+     * @return the updated user group, or empty if there is no user group with this id and version.
+     */
+    Optional<UserGroup> partialUpdate(UserGroup userGroup);
+
+    /**
+     * Replace the stored user group with the same id, and increment its version, in one round trip.
+     * <p>
+     * Unlike {@code save}, a user group which does not exist (anymore) is not created.
+     *
+     * @param userGroup the new state of the user group, and the version the stored user group must have if not {@code null}: it is
+     * set to the new version of the user group when it is replaced.
+     * @return {@code true} if the user group was replaced, {@code false} if there is no user group with this id and version.
+     */
+    boolean replace(UserGroup userGroup);
+
+    /**
+     * Find a user group by id. The concurrent reads of the same user group are coalesced into one query by the
+     * {@link SingleFlight}.
+     *
+     * @param id the id of the user group.
+     * @return the user group, or empty if there is no user group with this id.
+     */
+    Optional<UserGroup> findById(Long id);
+}
@@ -0,0 +1,134 @@
+package my.jhipster.app.repository;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import com.mongodb.DBRef;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import my.jhipster.app.domain.AppUser;
+import my.jhipster.app.domain.UserGroup;
+import org.bson.Document;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * Implementation of the {@link UserGroupRepositoryCustom} fragment.
+ */
+public class UserGroupRepositoryCustomImpl implements UserGroupRepositoryCustom {
+
+    private static final String ID = "id";
+
+    private static final String APP_USER = "appUser";
+
+    private static final String USER_GROUPS = "userGroups";
+
+    private final MongoTemplate mongoTemplate;
+
+    private final EntityCacheEvictor entityCacheEvictor;
+
+    private final SingleFlight singleFlight;
+
+    public UserGroupRepositoryCustomImpl(MongoTemplate mongoTemplate, EntityCacheEvictor entityCacheEvictor, SingleFlight singleFlight) {
+        this.mongoTemplate = mongoTemplate;
+        this.entityCacheEvictor = entityCacheEvictor;
+        this.singleFlight = singleFlight;
+    }
+
+    @Override
+    public Optional<UserGroup> findById(Long id) {
+        return singleFlight.load(UserGroup.class, id, () -> Optional.ofNullable(mongoTemplate.findById(id, UserGroup.class)));
+    }
+
+    @Override
+    public Slice<UserGroup> findAllAfter(Long after, Pageable pageable, boolean withAppUser) {
+        Query query = new Query().with(Sort.by(ID));
+        if (after != null) {
+            query.addCriteria(where(ID).gt(after));
+        }
+        if (!withAppUser) {
+            query.fields().exclude(APP_USER);
+        }
+        // Read one more element to know whether there is a next slice, without counting the collection
+        query.limit(pageable.getPageSize() + 1);
+        List<Document> documents = mongoTemplate.query(UserGroup.class).as(Document.class).matching(query).all();
+        boolean hasNext = documents.size() > pageable.getPageSize();
+        List<UserGroup> content = readWithAppUser(hasNext ? documents.subList(0, pageable.getPageSize()) : documents);
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+    /**
+     * Read user group documents, resolving the app users they reference with one {@code $in} query for all of them, as the
+     * mapping would resolve the {@link org.springframework.data.mongodb.core.mapping.DBRef} of each user group separately.
+     */
+    private List<UserGroup> readWithAppUser(List<Document> documents) {
+        List<UserGroup> userGroups = new ArrayList<>(documents.size());
+        Map<Object, List<UserGroup>> userGroupsByAppUserId = new HashMap<>();
+        for (Document document : documents) {
+            Object appUserRef = document.remove(APP_USER);
+            UserGroup userGroup = mongoTemplate.getConverter().read(UserGroup.class, document);
+            userGroups.add(userGroup);
+            if (appUserRef instanceof DBRef dbRef) {
+                userGroupsByAppUserId.computeIfAbsent(dbRef.getId(), id -> new ArrayList<>()).add(userGroup);
+            }
+        }
+        if (!userGroupsByAppUserId.isEmpty()) {
+            Query query = Query.query(where(ID).in(userGroupsByAppUserId.keySet()));
+            // Not serialized with the user groups
+            query.fields().exclude(USER_GROUPS);
+            for (AppUser appUser : mongoTemplate.find(query, AppUser.class)) {
+                userGroupsByAppUserId.get(appUser.getId()).forEach(userGroup -> userGroup.setAppUser(appUser));
+            }
+        }
+        return userGroups;
+    }
+
+    @Override
+    public boolean replace(UserGroup userGroup) {
+        Query query = versionedQuery(userGroup.getId(), userGroup.getVersion());
+        query.fields().include(VersionedReplacement.VERSION);
+        UserGroup replaced = mongoTemplate.findAndModify(
+            query,
+            VersionedReplacement.of(mongoTemplate.getConverter(), userGroup),
+            FindAndModifyOptions.options().returnNew(true),
+            UserGroup.class
+        );
+        // findAndModify does not publish any after save event
+        entityCacheEvictor.evict(UserGroup.class, List.of(userGroup.getId()));
+        if (replaced == null) {
+            return false;
+        }
+        userGroup.setVersion(replaced.getVersion());
+        return true;
+    }
+
+    @Override
+    public Optional<UserGroup> partialUpdate(UserGroup userGroup) {
+        Query query = versionedQuery(userGroup.getId(), userGroup.getVersion());
+        if (userGroup.getName() == null) {
+            // An empty $set is rejected by MongoDB
+            return Optional.ofNullable(mongoTemplate.findOne(query, UserGroup.class));
+        }
+        Update update = new Update().set("name", userGroup.getName());
+        UserGroup updated = mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), UserGroup.class);
+        // findAndModify does not publish any after save event
+        entityCacheEvictor.evict(UserGroup.class, List.of(userGroup.getId()));
+        return Optional.ofNullable(updated);
+    }
+
+    private static Query versionedQuery(Long id, Long version) {
+        Query query = Query.query(where(ID).is(id));
+        if (version != null) {
+            query.addCriteria(where(VersionedReplacement.VERSION).is(version));
+        }
+        return query;
+    }
+}
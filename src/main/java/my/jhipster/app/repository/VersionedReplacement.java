@@ -0,0 +1,45 @@
+package my.jhipster.app.repository;
+
+import java.util.List;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+
+/**
+ * Update pipelines replacing a document by an entity while incrementing its {@link org.springframework.data.annotation.Version}.
+ * <p>
+ * A plain replacement writes the version held by the entity, and the bulk writes do not handle versions at all: the version
+ * would have to be read first to increment it. The pipeline increments the stored version in the same round trip, and
+ * initializes it to {@code 0} on a document which has none. The fields managed by the server are kept as they are stored.
+ */
+final class VersionedReplacement {
+
+    static final String VERSION = "version";
+
+    private VersionedReplacement() {}
+
+    /**
+     * @param keptProperties the properties of the entity which are kept as they are stored, instead of being replaced.
+     */
+    static AggregationUpdate of(MongoConverter converter, Object entity, String... keptProperties) {
+        Document document = new Document();
+        converter.write(entity, document);
+        document.remove(VERSION);
+        Document stored = new Document(VERSION, "$" + VERSION);
+        MongoPersistentEntity<?> persistentEntity = converter.getMappingContext().getRequiredPersistentEntity(entity.getClass());
+        for (String keptProperty : keptProperties) {
+            String fieldName = persistentEntity.getRequiredPersistentProperty(keptProperty).getFieldName();
+            document.remove(fieldName);
+            // A field missing from the stored document stays missing
+            stored.append(fieldName, "$" + fieldName);
+        }
+        // $literal, as the values of the entity are not expressions: a "$name" string is not a field path
+        Document replacement = new Document("$mergeObjects", List.of(new Document("$literal", document), stored));
+        return AggregationUpdate.from(List.of(context -> new Document("$replaceWith", replacement)))
+            .set(VERSION)
+            .toValueOf(ArithmeticOperators.valueOf(ConditionalOperators.ifNull(VERSION).then(-1)).add(1));
+    }
+}
@@ -0,0 +1,32 @@
+package my.jhipster.app.repository.reactive;
+
+import my.jhipster.app.domain.AppUser;
+import org.springframework.data.mongodb.repository.Meta;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.repository.Repository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Spring Data MongoDB reactive repository for the AppUser entity, streaming the app users without holding a thread while the
+ * database answers.
+ * <p>
+ * It only reads: the writes go through {@link my.jhipster.app.repository.AppUserRepository}, which assigns the ids and evicts
+ * the caches.
+ */
+public interface AppUserReactiveRepository extends Repository<AppUser, Long> {
+    /**
+     * The documents the driver fetches per round trip. Without it, the batches would be as small as the demand of the subscriber,
+     * one app user for a slow client.
+     */
+    int STREAM_BATCH_SIZE = 1000;
+
+    /**
+     * Stream the app users, ordered by id, without their user groups: resolving the DBRefs would block on one query per app user.
+     *
+     * @param after the id the streamed app users are after.
+     * @return the app users, emitted as the subscriber requests them.
+     */
+    @Query(value = "{ '_id' : { '$gt' : ?0 } }", fields = "{ 'userGroup' : 0 }", sort = "{ '_id' : 1 }")
+    @Meta(cursorBatchSize = STREAM_BATCH_SIZE)
+    Flux<AppUser> streamAllAfter(long after);
+}
@@ -0,0 +1,24 @@
+package my.jhipster.app.repository.reactive;
+
+import my.jhipster.app.domain.UserGroup;
+import org.springframework.data.mongodb.repository.Meta;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.repository.Repository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Spring Data MongoDB reactive repository for the UserGroup entity.
+ * <p>
+ * It only reads: the writes go through {@link my.jhipster.app.repository.UserGroupRepository}.
+ */
+public interface UserGroupReactiveRepository extends Repository<UserGroup, Long> {
+    /**
+     * Stream the user groups, ordered by id, without their app user, whose DBRef would be resolved by a blocking query.
+     *
+     * @param after the id the streamed user groups are after.
+     * @return the user groups, emitted as the subscriber requests them.
+     */
+    @Query(value = "{ '_id' : { '$gt' : ?0 } }", fields = "{ 'appUser' : 0 }", sort = "{ '_id' : 1 }")
+    @Meta(cursorBatchSize = AppUserReactiveRepository.STREAM_BATCH_SIZE)
+    Flux<UserGroup> streamAllAfter(long after);
+}
@@ -0,0 +1,4 @@
+/**
+ * Reactive repositories, reading through the reactive streams driver of MongoDB when the {@code reactive} profile is active.
+ */
+package my.jhipster.app.repository.reactive;
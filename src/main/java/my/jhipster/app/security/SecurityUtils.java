@@ -6,10 +6,12 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import my.jhipster.app.config.Constants;
+import my.jhipster.app.domain.AppUser;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -18,6 +20,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.oauth2.core.oidc.StandardClaimNames;
 import org.springframework.security.oauth2.core.oidc.user.DefaultOidcUser;
+import org.springframework.security.oauth2.core.oidc.user.OidcUser;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 
 /**
@@ -57,6 +60,22 @@ public final class SecurityUtils {
         return null;
     }
 
+    /**
+     * Get the subject of the current user, which identifies it at the identity provider: it is the {@code externalUserId} of its
+     * appUser.
+     *
+     * @return the subject of the current user.
+     */
+    public static Optional<String> getCurrentUserSubject() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication instanceof JwtAuthenticationToken jwtAuthentication) {
+            return Optional.ofNullable(jwtAuthentication.getToken().getSubject());
+        } else if (authentication != null && authentication.getPrincipal() instanceof OidcUser oidcUser) {
+            return Optional.ofNullable(oidcUser.getSubject());
+        }
+        return Optional.empty();
+    }
+
     /**
      * Check if a user is authenticated.
      *
@@ -123,6 +142,22 @@ public final class SecurityUtils {
         return roles.stream().filter(role -> role.startsWith("ROLE_")).map(SimpleGrantedAuthority::new).collect(Collectors.toList());
     }
 
+    /**
+     * Map the standard claims of a user to the fields of its appUser.
+     *
+     * @param claims the claims of the ID token, the user info or the access token of the user.
+     * @return the appUser, with its external user id, its username, defaulting to the subject, and its names and email if claimed.
+     */
+    public static AppUser extractAppUserFromClaims(Map<String, Object> claims) {
+        String subject = String.valueOf(claims.get(StandardClaimNames.SUB));
+        return new AppUser()
+            .externalUserId(subject)
+            .username(Objects.toString(claims.get(StandardClaimNames.PREFERRED_USERNAME), subject))
+            .firstName(Objects.toString(claims.get(StandardClaimNames.GIVEN_NAME), null))
+            .lastName(Objects.toString(claims.get(StandardClaimNames.FAMILY_NAME), null))
+            .email(Objects.toString(claims.get(StandardClaimNames.EMAIL), null));
+    }
+
     public static Map<String, Object> extractDetailsFromTokenAttributes(Map<String, Object> attributes) {
         Map<String, Object> details = new HashMap<>();
 
@@ -0,0 +1,35 @@
+package my.jhipster.app.web.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Instant;
+import my.jhipster.app.repository.LoginActivityRecorder;
+import my.jhipster.app.security.SecurityUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Refresh the last login date of the app user of each authenticated request.
+ * <p>
+ * Registered after the Spring Security filter chain, which authenticates the request. The date is only recorded by the
+ * {@link LoginActivityRecorder}, which writes it later.
+ */
+@Component
+public class LoginActivityFilter extends OncePerRequestFilter {
+
+    private final LoginActivityRecorder loginActivityRecorder;
+
+    public LoginActivityFilter(LoginActivityRecorder loginActivityRecorder) {
+        this.loginActivityRecorder = loginActivityRecorder;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        SecurityUtils.getCurrentUserSubject().ifPresent(subject -> loginActivityRecorder.record(subject, Instant.now()));
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,79 @@
+package my.jhipster.app.web.filter;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Announce the scripts and the style sheets of the client {@code index.html} in a {@code Link} header of its responses, so the
+ * browser requests them with the page, on the same HTTP/2 connection, instead of once it parsed the page.
+ * <p>
+ * A reverse proxy which supports it may also send the header ahead of the page, as a {@code 103 (Early Hints)} response, which
+ * the Servlet API of the server cannot send. Only the resources of the same origin are announced.
+ */
+public class PreloadLinksFilter implements Filter {
+
+    private static final Pattern SCRIPT = Pattern.compile("<script\\b[^>]*\\bsrc=\"([^\"]+)\"", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern STYLESHEET = Pattern.compile(
+        "<link\\b(?=[^>]*\\brel=\"stylesheet\")[^>]*\\bhref=\"([^\"]+)\"",
+        Pattern.CASE_INSENSITIVE
+    );
+
+    private final List<Preload> preloads;
+
+    /**
+     * @param indexHtml the content of the {@code index.html} page.
+     */
+    public PreloadLinksFilter(String indexHtml) {
+        List<Preload> found = new ArrayList<>();
+        addPreloads(found, SCRIPT.matcher(indexHtml), "script");
+        addPreloads(found, STYLESHEET.matcher(indexHtml), "style");
+        this.preloads = List.copyOf(found);
+    }
+
+    private static void addPreloads(List<Preload> preloads, Matcher matcher, String destination) {
+        while (matcher.find()) {
+            String path = matcher.group(1);
+            // Neither another origin, nor an inline resource
+            if (!path.startsWith("//") && !path.contains(":")) {
+                preloads.add(new Preload(path.startsWith("/") ? path : "/" + path, destination));
+            }
+        }
+    }
+
+    /**
+     * @return the value of the {@code Link} header, with the paths of a context path, or {@code null} if there is nothing to preload.
+     */
+    String links(String contextPath) {
+        if (preloads.isEmpty()) {
+            return null;
+        }
+        return preloads
+            .stream()
+            .map(preload -> "<" + contextPath + preload.path() + ">; rel=preload; as=" + preload.destination())
+            .collect(Collectors.joining(", "));
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
+        String links = links(((HttpServletRequest) request).getContextPath());
+        if (links != null) {
+            ((HttpServletResponse) response).addHeader(HttpHeaders.LINK, links);
+        }
+        chain.doFilter(request, response);
+    }
+
+    private record Preload(String path, String destination) {}
+}
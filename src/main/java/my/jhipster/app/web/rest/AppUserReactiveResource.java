@@ -0,0 +1,49 @@
+package my.jhipster.app.web.rest;
+
+import my.jhipster.app.domain.AppUser;
+import my.jhipster.app.repository.reactive.AppUserReactiveRepository;
+import my.jhipster.app.web.rest.util.KeysetPaginationUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+/**
+ * REST controller streaming the {@link AppUser}s from the reactive driver, when the {@code reactive} profile is active.
+ * <p>
+ * No thread waits for the database: the request is released to the container while the cursor is read, and each appUser is
+ * written once the previous one was, so a slow client only holds the next batch of the cursor.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/app-users")
+public class AppUserReactiveResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AppUserReactiveResource.class);
+
+    private final AppUserReactiveRepository appUserReactiveRepository;
+
+    public AppUserReactiveResource(AppUserReactiveRepository appUserReactiveRepository) {
+        this.appUserReactiveRepository = appUserReactiveRepository;
+    }
+
+    /**
+     * {@code GET  /app-users/stream} : stream the appUsers, ordered by id, as newline delimited JSON.
+     * <p>
+     * Their userGroups are left empty, like in the slices of {@code GET /app-users}. A client which lost the stream resumes it
+     * after the id of the last appUser it received.
+     *
+     * @param after the id of the last appUser already received, if any.
+     * @return the appUsers, one JSON document per line.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<AppUser> streamAppUsers(@RequestParam(name = KeysetPaginationUtil.AFTER_PARAM, required = false) Long after) {
+        LOG.debug("REST request to stream AppUsers after : {}", after);
+        return appUserReactiveRepository.streamAllAfter(after == null ? Long.MIN_VALUE : after);
+    }
+}
@@ -1,22 +1,73 @@
 package my.jhipster.app.web.rest;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mongodb.ErrorCategory;
+import com.mongodb.bulk.BulkWriteError;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import jakarta.validation.constraints.NotNull;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import my.jhipster.app.config.ApplicationProperties;
 import my.jhipster.app.domain.AppUser;
+import my.jhipster.app.domain.UserGroup;
+import my.jhipster.app.repository.AppUserAvailability;
 import my.jhipster.app.repository.AppUserRepository;
+import my.jhipster.app.repository.AppUserRepositoryCustom;
 import my.jhipster.app.web.rest.errors.BadRequestAlertException;
+import my.jhipster.app.web.rest.errors.PreconditionFailedAlertException;
+import my.jhipster.app.web.rest.util.ETagUtil;
+import my.jhipster.app.web.rest.util.KeysetPaginationUtil;
+import my.jhipster.app.web.rest.vm.AppUserAvailabilityVM;
+import my.jhipster.app.web.rest.vm.BulkItemResultVM;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.ResponseUtil;
 
 /**
  * REST controller for managing {@link my.jhipster.app.domain.AppUser}.
@@ -29,13 +80,88 @@ public class AppUserResource {
 
     private static final String ENTITY_NAME = "appUser";
 
+    private static final String INCLUDE_USER_GROUPS = "groups";
+
+    private static final String EXPORT_FORMAT_NDJSON = "ndjson";
+
+    private static final String EXPORT_FORMAT_CSV = "csv";
+
+    private static final String EXPORT_FORMAT_CBOR = "cbor";
+
+    private static final String EXPORT_FORMAT_SMILE = "smile";
+
+    private static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    private static final MediaType APPLICATION_SMILE = MediaType.parseMediaType(APPLICATION_SMILE_VALUE);
+
+    /**
+     * RFC 8742: CBOR data items following each other, like the lines of newline delimited JSON.
+     */
+    private static final MediaType APPLICATION_CBOR_SEQ = new MediaType("application", "cbor-seq");
+
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
+    private static final String CSV_HEADER = "id,externalUserId,username,firstName,lastName,email,registeredDate,lastLoginDate";
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final AppUserRepository appUserRepository;
 
-    public AppUserResource(AppUserRepository appUserRepository) {
+    private final EntityChangeBroadcaster entityChangeBroadcaster;
+
+    private final AppUserAvailability appUserAvailability;
+
+    private final ObjectWriter exportWriter;
+
+    private final ObjectWriter cborExportWriter;
+
+    private final ObjectWriter smileExportWriter;
+
+    private final ObjectReader bulkReader;
+
+    private final ObjectReader cborBulkReader;
+
+    private final ObjectReader smileBulkReader;
+
+    private final Validator validator;
+
+    private final int bulkBatchSize;
+
+    public AppUserResource(
+        AppUserRepository appUserRepository,
+        EntityChangeBroadcaster entityChangeBroadcaster,
+        AppUserAvailability appUserAvailability,
+        ObjectMapper objectMapper,
+        MappingJackson2CborHttpMessageConverter cborConverter,
+        MappingJackson2SmileHttpMessageConverter smileConverter,
+        Validator validator,
+        ApplicationProperties applicationProperties
+    ) {
         this.appUserRepository = appUserRepository;
+        this.entityChangeBroadcaster = entityChangeBroadcaster;
+        this.appUserAvailability = appUserAvailability;
+        this.bulkReader = objectMapper.readerFor(AppUser.class);
+        this.cborBulkReader = cborConverter.getObjectMapper().readerFor(AppUser.class);
+        this.smileBulkReader = smileConverter.getObjectMapper().readerFor(AppUser.class);
+        this.validator = validator;
+        this.bulkBatchSize = applicationProperties.getBulk().getBatchSize();
+        // Each document ends its own line
+        this.exportWriter = exportWriter(objectMapper).withRootValueSeparator("");
+        this.cborExportWriter = exportWriter(cborConverter.getObjectMapper());
+        this.smileExportWriter = exportWriter(smileConverter.getObjectMapper());
+    }
+
+    /**
+     * The response is only flushed when the buffers are full.
+     */
+    private static ObjectWriter exportWriter(ObjectMapper objectMapper) {
+        return objectMapper
+            .copy()
+            .addMixIn(AppUser.class, AppUserExportMixIn.class)
+            .writerFor(AppUser.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
     }
 
     /**
@@ -53,23 +179,129 @@ public class AppUserResource {
         }
         appUser = appUserRepository.save(appUser);
         return ResponseEntity.created(new URI("/api/app-users/" + appUser.getId()))
+            .eTag(eTag(appUser))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, appUser.getId().toString()))
             .body(appUser);
     }
 
+    /**
+     * {@code POST  /app-users/bulk} : Create or replace appUsers in bulk.
+     * <p>
+     * The body is either an array or a sequence of appUsers, in JSON, newline delimited JSON, CBOR or Smile. They are validated
+     * as they are read, and written by unordered batches: the appUsers without id are created, the others replace the existing
+     * appUser with the same id, or are reported as not found if there is none. An invalid appUser does not prevent the others
+     * from being written.
+     *
+     * @param contentType the format of the body.
+     * @param body the appUsers to write.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each appUser, in the order of the request.
+     * @throws IOException if the body can't be read.
+     */
+    @PostMapping(
+        value = "/bulk",
+        consumes = {
+            MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_NDJSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE,
+            APPLICATION_SMILE_VALUE,
+        }
+    )
+    public ResponseEntity<List<BulkItemResultVM>> bulkSaveAppUsers(
+        @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+        InputStream body
+    ) throws IOException {
+        LOG.debug("REST request to bulk save AppUsers");
+        List<BulkItemResultVM> results = new ArrayList<>();
+        List<AppUser> batch = new ArrayList<>(bulkBatchSize);
+        List<Integer> batchIndexes = new ArrayList<>(bulkBatchSize);
+        int index = 0;
+        // A top level array is read element by element, like newline delimited JSON
+        try (MappingIterator<AppUser> appUsers = bulkReader(contentType).readValues(body)) {
+            for (; appUsers.hasNextValue(); index++) {
+                AppUser appUser = appUsers.nextValue();
+                Set<ConstraintViolation<AppUser>> violations = validator.validate(appUser);
+                if (!violations.isEmpty()) {
+                    String error = violations
+                        .stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", "));
+                    results.add(new BulkItemResultVM(index, appUser.getId(), HttpStatus.BAD_REQUEST.value(), error));
+                    continue;
+                }
+                batch.add(appUser);
+                batchIndexes.add(index);
+                if (batch.size() == bulkBatchSize) {
+                    saveBatch(batch, batchIndexes, results);
+                }
+            }
+        } catch (JsonProcessingException e) {
+            // The rest of the body can't be parsed reliably, but the appUsers read so far are still written
+            results.add(new BulkItemResultVM(index, null, HttpStatus.BAD_REQUEST.value(), e.getOriginalMessage()));
+        }
+        if (!batch.isEmpty()) {
+            saveBatch(batch, batchIndexes, results);
+        }
+        results.sort(Comparator.comparingInt(BulkItemResultVM::getIndex));
+        return ResponseEntity.ok().body(results);
+    }
+
+    private ObjectReader bulkReader(MediaType contentType) {
+        if (MediaType.APPLICATION_CBOR.isCompatibleWith(contentType)) {
+            return cborBulkReader;
+        }
+        if (APPLICATION_SMILE.isCompatibleWith(contentType)) {
+            return smileBulkReader;
+        }
+        return bulkReader;
+    }
+
+    private void saveBatch(List<AppUser> batch, List<Integer> batchIndexes, List<BulkItemResultVM> results) {
+        // Checked before the write, which may assign the ids
+        boolean[] created = new boolean[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            created[i] = batch.get(i).getId() == null;
+        }
+        AppUserRepositoryCustom.SaveAllResult saved = appUserRepository.saveAllUnordered(batch);
+        Map<Integer, BulkWriteError> errors = saved
+            .errors()
+            .stream()
+            .collect(Collectors.toMap(BulkWriteError::getIndex, Function.identity()));
+        for (int i = 0; i < batch.size(); i++) {
+            BulkWriteError error = errors.get(i);
+            if (saved.notFoundIndexes().contains(i)) {
+                HttpStatus status = HttpStatus.NOT_FOUND;
+                results.add(new BulkItemResultVM(batchIndexes.get(i), batch.get(i).getId(), status.value(), "Entity not found"));
+            } else if (error == null) {
+                HttpStatus status = created[i] ? HttpStatus.CREATED : HttpStatus.OK;
+                results.add(new BulkItemResultVM(batchIndexes.get(i), batch.get(i).getId(), status.value(), null));
+            } else {
+                HttpStatus status = ErrorCategory.fromErrorCode(error.getCode()) == ErrorCategory.DUPLICATE_KEY
+                    ? HttpStatus.CONFLICT
+                    : HttpStatus.INTERNAL_SERVER_ERROR;
+                results.add(new BulkItemResultVM(batchIndexes.get(i), batch.get(i).getId(), status.value(), error.getMessage()));
+            }
+        }
+        batch.clear();
+        batchIndexes.clear();
+    }
+
     /**
      * {@code PUT  /app-users/:id} : Updates an existing appUser.
      *
      * @param id the id of the appUser to save.
+     * @param ifMatch the entity tag of the appUser which is updated, if it must not have been modified since.
      * @param appUser the appUser to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated appUser,
      * or with status {@code 400 (Bad Request)} if the appUser is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the appUser was modified since the {@code If-Match} entity tag,
      * or with status {@code 500 (Internal Server Error)} if the appUser couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
     public ResponseEntity<AppUser> updateAppUser(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @Valid @RequestBody AppUser appUser
     ) throws URISyntaxException {
         LOG.debug("REST request to update AppUser : {}, {}", id, appUser);
@@ -80,12 +312,13 @@ public class AppUserResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!appUserRepository.existsById(id)) {
+        appUser.setVersion(requiredVersion(ifMatch));
+        if (!appUserRepository.replace(appUser)) {
+            checkModified(appUser);
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
-
-        appUser = appUserRepository.save(appUser);
         return ResponseEntity.ok()
+            .eTag(eTag(appUser))
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, appUser.getId().toString()))
             .body(appUser);
     }
@@ -94,9 +327,11 @@ public class AppUserResource {
      * {@code PATCH  /app-users/:id} : Partial updates given fields of an existing appUser, field will ignore if it is null
      *
      * @param id the id of the appUser to save.
+     * @param ifMatch the entity tag of the appUser which is updated, if it must not have been modified since.
      * @param appUser the appUser to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated appUser,
      * or with status {@code 400 (Bad Request)} if the appUser is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the appUser was modified since the {@code If-Match} entity tag,
      * or with status {@code 404 (Not Found)} if the appUser is not found,
      * or with status {@code 500 (Internal Server Error)} if the appUser couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
@@ -104,6 +339,7 @@ public class AppUserResource {
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<AppUser> partialUpdateAppUser(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @NotNull @RequestBody AppUser appUser
     ) throws URISyntaxException {
         LOG.debug("REST request to partial update AppUser partially : {}, {}", id, appUser);
@@ -114,67 +350,318 @@ public class AppUserResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!appUserRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        appUser.setVersion(requiredVersion(ifMatch));
+        Optional<AppUser> result = appUserRepository.partialUpdate(appUser);
+        if (result.isEmpty()) {
+            checkModified(appUser);
         }
 
-        Optional<AppUser> result = appUserRepository
-            .findById(appUser.getId())
-            .map(existingAppUser -> {
-                if (appUser.getExternalUserId() != null) {
-                    existingAppUser.setExternalUserId(appUser.getExternalUserId());
-                }
-                if (appUser.getUsername() != null) {
-                    existingAppUser.setUsername(appUser.getUsername());
-                }
-                if (appUser.getFirstName() != null) {
-                    existingAppUser.setFirstName(appUser.getFirstName());
-                }
-                if (appUser.getLastName() != null) {
-                    existingAppUser.setLastName(appUser.getLastName());
-                }
-                if (appUser.getEmail() != null) {
-                    existingAppUser.setEmail(appUser.getEmail());
-                }
-                if (appUser.getRegisteredDate() != null) {
-                    existingAppUser.setRegisteredDate(appUser.getRegisteredDate());
+        return result
+            .map(updated ->
+                ResponseEntity.ok()
+                    .eTag(eTag(updated))
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, appUser.getId().toString()))
+                    .body(updated)
+            )
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+    }
+
+    /**
+     * {@code GET  /app-users} : get a slice of the appUsers, ordered by id unless another sort is requested.
+     *
+     * @param after the id of the last appUser of the previous slice, if any.
+     * @param afterValue the value of the sort property of the last appUser of the previous slice, as written in the next link:
+     * the slice is found even if this appUser was deleted since.
+     * @param size the maximum number of appUsers to return.
+     * @param sort the sort, on one of the indexed {@link AppUserRepositoryCustom#SORTABLE_PROPERTIES}.
+     * @param include the relationships to read with the appUsers: {@code groups} for their userGroups, which are left empty otherwise.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of appUsers in body and its entity tag,
+     * or with status {@code 304 (Not Modified)} if it matches the {@code If-None-Match} header,
+     * and a {@code Link} header to the next slice if there is one,
+     * or with status {@code 400 (Bad Request)} if the sort or the include is not supported, or the cursor is invalid or does not exist.
+     */
+    @GetMapping("")
+    public ResponseEntity<List<AppUser>> getAllAppUsers(
+        @RequestParam(name = KeysetPaginationUtil.AFTER_PARAM, required = false) Long after,
+        @RequestParam(name = KeysetPaginationUtil.AFTER_VALUE_PARAM, required = false) String afterValue,
+        @RequestParam(name = KeysetPaginationUtil.SIZE_PARAM, defaultValue = KeysetPaginationUtil.DEFAULT_PAGE_SIZE) int size,
+        Sort sort,
+        @RequestParam(name = "include", required = false) Set<String> include
+    ) {
+        LOG.debug("REST request to get a slice of AppUsers after : {}, sorted by : {}, including : {}", after, sort, include);
+        // The slices are seeked from the last appUser, on a single index
+        if (sort.stream().count() > 1) {
+            throw new BadRequestAlertException("Only one sort property is supported", ENTITY_NAME, "sortnotsupported");
+        }
+        for (Sort.Order order : sort) {
+            if (!AppUserRepositoryCustom.SORTABLE_PROPERTIES.contains(order.getProperty())) {
+                throw new BadRequestAlertException("Sort property not supported", ENTITY_NAME, "sortnotsupported");
+            }
+        }
+        boolean withUserGroups = include != null && include.contains(INCLUDE_USER_GROUPS);
+        if (include != null && include.size() > (withUserGroups ? 1 : 0)) {
+            throw new BadRequestAlertException("Include not supported", ENTITY_NAME, "includenotsupported");
+        }
+        Slice<AppUser> slice;
+        try {
+            slice = appUserRepository.findAllAfter(
+                after,
+                afterValue == null ? null : KeysetPaginationUtil.decodeAfterValue(afterValue),
+                KeysetPaginationUtil.keysetPageable(size, sort),
+                withUserGroups
+            );
+        } catch (EmptyResultDataAccessException e) {
+            throw new BadRequestAlertException("Cursor not found", ENTITY_NAME, "cursornotfound");
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid");
+        }
+        String sortProperty = sort.stream().findFirst().map(Sort.Order::getProperty).orElse(null);
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+            ServletUriComponentsBuilder.fromCurrentRequest(),
+            slice,
+            AppUser::getId,
+            appUser -> sortValue(appUser, sortProperty)
+        );
+        // The Link header changes when an appUser is added after a full slice
+        String eTag = ETagUtil.forList(
+            Stream.concat(slice.getContent().stream().flatMap(AppUserResource::idsAndVersions), Stream.of(slice.hasNext()))
+        );
+        return ResponseEntity.ok().eTag(eTag).cacheControl(ETagUtil.REVALIDATE).headers(headers).body(slice.getContent());
+    }
+
+    /**
+     * @return the value of the sort property of an appUser, as parsed by the repository, or {@code null} when sorted by id.
+     */
+    private static String sortValue(AppUser appUser, String sortProperty) {
+        Object value =
+            switch (sortProperty == null ? "id" : sortProperty) {
+                case "username" -> appUser.getUsername();
+                case "email" -> appUser.getEmail();
+                case "lastName" -> appUser.getLastName();
+                // The zone of the date does not change its order
+                case "registeredDate" -> appUser.getRegisteredDate() == null ? null : appUser.getRegisteredDate().toInstant();
+                default -> null;
+            };
+        return value == null ? null : value.toString();
+    }
+
+    /**
+     * {@code GET  /app-users/export} : stream all the appUsers, ordered by id, without their userGroups.
+     * <p>
+     * The appUsers are written to the response as they are read from the database cursor, so the memory used does not
+     * depend on the size of the collection.
+     *
+     * @param format the format of the export, {@code ndjson} (one JSON document per line), {@code csv}, {@code cbor} (a sequence
+     * of CBOR data items) or {@code smile} (a sequence of Smile values).
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the appUsers streamed in body,
+     * or with status {@code 400 (Bad Request)} if the format is not supported.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAppUsers(
+        @RequestParam(name = "format", defaultValue = EXPORT_FORMAT_NDJSON) String format
+    ) {
+        LOG.debug("REST request to export AppUsers as : {}", format);
+        StreamingResponseBody body;
+        MediaType contentType;
+        if (EXPORT_FORMAT_NDJSON.equals(format)) {
+            body = out -> writeDocuments(out, exportWriter, true);
+            contentType = MediaType.APPLICATION_NDJSON;
+        } else if (EXPORT_FORMAT_CSV.equals(format)) {
+            body = this::writeCsv;
+            contentType = TEXT_CSV;
+        } else if (EXPORT_FORMAT_CBOR.equals(format)) {
+            body = out -> writeDocuments(out, cborExportWriter, false);
+            contentType = APPLICATION_CBOR_SEQ;
+        } else if (EXPORT_FORMAT_SMILE.equals(format)) {
+            body = out -> writeDocuments(out, smileExportWriter, false);
+            contentType = APPLICATION_SMILE;
+        } else {
+            throw new BadRequestAlertException("Export format not supported", ENTITY_NAME, "exportformatnotsupported");
+        }
+        return ResponseEntity.ok()
+            .contentType(contentType)
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename("app-users." + format).build().toString())
+            .body(body);
+    }
+
+    /**
+     * Write the appUsers one after the other, each on its own line when they are text.
+     */
+    private void writeDocuments(OutputStream out, ObjectWriter writer, boolean newlineDelimited) throws IOException {
+        try (Stream<AppUser> appUsers = appUserRepository.streamAll(); JsonGenerator generator = writer.createGenerator(out)) {
+            Iterator<AppUser> iterator = appUsers.iterator();
+            boolean first = true;
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, iterator.next());
+                if (newlineDelimited) {
+                    generator.writeRaw('\n');
                 }
-                if (appUser.getLastLoginDate() != null) {
-                    existingAppUser.setLastLoginDate(appUser.getLastLoginDate());
+                if (first) {
+                    // Send the first document right away, instead of waiting for the buffers to fill up
+                    generator.flush();
+                    first = false;
                 }
+            }
+        }
+    }
 
-                return existingAppUser;
-            })
-            .map(appUserRepository::save);
+    private void writeCsv(OutputStream out) throws IOException {
+        // Not closed, as it would close the response output stream
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        writer.flush();
+        try (Stream<AppUser> appUsers = appUserRepository.streamAll()) {
+            Iterator<AppUser> iterator = appUsers.iterator();
+            while (iterator.hasNext()) {
+                AppUser appUser = iterator.next();
+                writer.write(String.valueOf(appUser.getId()));
+                writeCsvField(writer, appUser.getExternalUserId());
+                writeCsvField(writer, appUser.getUsername());
+                writeCsvField(writer, appUser.getFirstName());
+                writeCsvField(writer, appUser.getLastName());
+                writeCsvField(writer, appUser.getEmail());
+                writeCsvField(writer, appUser.getRegisteredDate());
+                writeCsvField(writer, appUser.getLastLoginDate());
+                writer.write("\r\n");
+            }
+        }
+        writer.flush();
+    }
 
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, appUser.getId().toString())
-        );
+    private static void writeCsvField(Writer writer, ZonedDateTime value) throws IOException {
+        writeCsvField(writer, value == null ? null : DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(value));
+    }
+
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        writer.write(',');
+        if (value == null) {
+            return;
+        }
+        // RFC 4180: fields holding a separator, a quote or a line break are quoted, and their quotes doubled
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+        } else {
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
     }
 
     /**
-     * {@code GET  /app-users} : get all the appUsers.
+     * {@code GET  /app-users/changes} : stream the changes of the appUsers and of their userGroups, as server-sent events.
+     * <p>
+     * Each event is named after the changed entity, {@code appUser} or {@code userGroup}, and tells how to update a list of
+     * such entities: its data is an {@link my.jhipster.app.web.rest.vm.EntityChangeVM}.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of appUsers in body.
+     * @return the stream of the changes, from now on.
      */
-    @GetMapping("")
-    public List<AppUser> getAllAppUsers() {
-        LOG.debug("REST request to get all AppUsers");
-        return appUserRepository.findAll();
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter getAppUserChanges() {
+        LOG.debug("REST request to stream the changes of AppUsers");
+        return entityChangeBroadcaster.subscribe();
+    }
+
+    /**
+     * {@code GET  /app-users/availability} : tell whether a username, an email or an externalUserId is still available.
+     * <p>
+     * Most available keys are told so without querying the database, see {@link AppUserAvailability}. The answer is a hint:
+     * only creating the appUser tells for sure.
+     *
+     * @param username the username to check, if any.
+     * @param email the email to check, if any, compared case-insensitively.
+     * @param externalUserId the externalUserId to check, if any.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the availability of the given keys,
+     * or with status {@code 400 (Bad Request)} if no key is given.
+     */
+    @GetMapping("/availability")
+    public ResponseEntity<AppUserAvailabilityVM> getAppUserAvailability(
+        @RequestParam(name = "username", required = false) String username,
+        @RequestParam(name = "email", required = false) String email,
+        @RequestParam(name = "externalUserId", required = false) String externalUserId
+    ) {
+        LOG.debug(
+            "REST request to get the availability of username : {}, email : {}, externalUserId : {}",
+            username,
+            email,
+            externalUserId
+        );
+        if (username == null && email == null && externalUserId == null) {
+            throw new BadRequestAlertException("A key to check is required", ENTITY_NAME, "availabilitykeyrequired");
+        }
+        AppUserAvailabilityVM availability = new AppUserAvailabilityVM();
+        if (username != null) {
+            availability.setUsername(appUserAvailability.isAvailable(AppUserAvailability.Key.USERNAME, username));
+        }
+        if (email != null) {
+            availability.setEmail(appUserAvailability.isAvailable(AppUserAvailability.Key.EMAIL, email));
+        }
+        if (externalUserId != null) {
+            availability.setExternalUserId(appUserAvailability.isAvailable(AppUserAvailability.Key.EXTERNAL_USER_ID, externalUserId));
+        }
+        // Checked on every keystroke, and stale as soon as another user signs up
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(availability);
     }
 
     /**
      * {@code GET  /app-users/:id} : get the "id" appUser.
      *
      * @param id the id of the appUser to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the appUser, or with status {@code 404 (Not Found)}.
+     * @param expand the relationships to read with the appUser in a single query: {@code groups} for its userGroups.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the appUser and its entity tag,
+     * or with status {@code 304 (Not Modified)} if it matches the {@code If-None-Match} header, or with status {@code 404 (Not Found)},
+     * or with status {@code 400 (Bad Request)} if the expand is not supported.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<AppUser> getAppUser(@PathVariable("id") Long id) {
-        LOG.debug("REST request to get AppUser : {}", id);
-        Optional<AppUser> appUser = appUserRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(appUser);
+    public ResponseEntity<AppUser> getAppUser(
+        @PathVariable("id") Long id,
+        @RequestParam(name = "expand", required = false) Set<String> expand
+    ) {
+        LOG.debug("REST request to get AppUser : {}, expanding : {}", id, expand);
+        boolean withUserGroups = expand != null && expand.contains(INCLUDE_USER_GROUPS);
+        if (expand != null && expand.size() > (withUserGroups ? 1 : 0)) {
+            throw new BadRequestAlertException("Expand not supported", ENTITY_NAME, "includenotsupported");
+        }
+        return found(withUserGroups ? appUserRepository.findOneWithUserGroups(id) : appUserRepository.findById(id));
+    }
+
+    /**
+     * {@code GET  /app-users/by-external-id/:externalUserId} : get the appUser of a user of the identity provider.
+     *
+     * @param externalUserId the subject of the user at the identity provider.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the appUser and its entity tag,
+     * or with status {@code 304 (Not Modified)} if it matches the {@code If-None-Match} header, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/by-external-id/{externalUserId}")
+    public ResponseEntity<AppUser> getAppUserByExternalUserId(@PathVariable("externalUserId") String externalUserId) {
+        LOG.debug("REST request to get AppUser by externalUserId : {}", externalUserId);
+        return found(appUserRepository.findOneByExternalUserId(externalUserId));
+    }
+
+    /**
+     * {@code GET  /app-users/by-username/:username} : get the appUser with a username.
+     *
+     * @param username the username of the appUser, compared case-sensitively.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the appUser and its entity tag,
+     * or with status {@code 304 (Not Modified)} if it matches the {@code If-None-Match} header, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/by-username/{username}")
+    public ResponseEntity<AppUser> getAppUserByUsername(@PathVariable("username") String username) {
+        LOG.debug("REST request to get AppUser by username : {}", username);
+        return found(appUserRepository.findOneByUsername(username));
+    }
+
+    /**
+     * {@code GET  /app-users/by-email/:email} : get the appUser with an email.
+     *
+     * @param email the email of the appUser, compared case-insensitively.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the appUser and its entity tag,
+     * or with status {@code 304 (Not Modified)} if it matches the {@code If-None-Match} header, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/by-email/{email}")
+    public ResponseEntity<AppUser> getAppUserByEmail(@PathVariable("email") String email) {
+        LOG.debug("REST request to get AppUser by email : {}", email);
+        return found(appUserRepository.findOneByEmailIgnoreCase(email));
     }
 
     /**
@@ -191,4 +678,53 @@ public class AppUserResource {
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    /**
+     * The userGroups are not loaded by the export.
+     */
+    @JsonIgnoreProperties("userGroups")
+    private abstract static class AppUserExportMixIn {}
+
+    /**
+     * The entity tag of an appUser, whose representation embeds its userGroups.
+     */
+    private static String eTag(AppUser appUser) {
+        return ETagUtil.forEntity(appUser.getVersion(), userGroupIdsAndVersions(appUser));
+    }
+
+    /**
+     * The found appUser with its entity tag, to be revalidated by the client, or a 404 (Not Found).
+     */
+    private static ResponseEntity<AppUser> found(Optional<AppUser> appUser) {
+        return appUser
+            .map(found -> ResponseEntity.ok().eTag(eTag(found)).cacheControl(ETagUtil.REVALIDATE).body(found))
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+    }
+
+    private static Stream<Object> idsAndVersions(AppUser appUser) {
+        return Stream.concat(Stream.of(appUser.getId(), appUser.getVersion()), userGroupIdsAndVersions(appUser));
+    }
+
+    private static Stream<Object> userGroupIdsAndVersions(AppUser appUser) {
+        Stream<UserGroup> userGroups = appUser.getUserGroups() == null ? Stream.empty() : appUser.getUserGroups().stream();
+        return userGroups.flatMap(userGroup -> Stream.of(userGroup.getId(), userGroup.getVersion()));
+    }
+
+    private static Long requiredVersion(String ifMatch) {
+        try {
+            return ETagUtil.requiredVersion(ifMatch);
+        } catch (IllegalArgumentException e) {
+            throw new PreconditionFailedAlertException("Entity tag does not match", ENTITY_NAME, "concurrencyFailure");
+        }
+    }
+
+    /**
+     * Tell an update which did not match any appUser with the version required by its {@code If-Match} header from an update of
+     * an appUser which does not exist.
+     */
+    private void checkModified(AppUser appUser) {
+        if (appUser.getVersion() != null && appUserRepository.existsById(appUser.getId())) {
+            throw new PreconditionFailedAlertException("Entity was modified", ENTITY_NAME, "concurrencyFailure");
+        }
+    }
 }
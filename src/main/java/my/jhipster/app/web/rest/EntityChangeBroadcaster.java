@@ -0,0 +1,251 @@
+package my.jhipster.app.web.rest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import my.jhipster.app.domain.AppUser;
+import my.jhipster.app.domain.UserGroup;
+import my.jhipster.app.repository.AppUserRepository;
+import my.jhipster.app.repository.EntityChangedEvent;
+import my.jhipster.app.repository.UserGroupRepository;
+import my.jhipster.app.web.rest.vm.EntityChangeVM;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes the changes of the appUsers and of the userGroups to the clients which subscribed to them, as server-sent events.
+ * <p>
+ * The events are named after the changed entity, {@value #APP_USER_EVENT} or {@value #USER_GROUP_EVENT}, and their data is an
+ * {@link EntityChangeVM}: the changed entities are read again, so the clients get them as they are now, whatever the write
+ * which changed them. The changes are read one at a time, by a single thread, so a client never gets an older copy of an entity
+ * after a newer one.
+ * <p>
+ * Each client is sent its changes by its own task, from a buffer of {@value #SUBSCRIBER_BUFFER_SIZE} changes, so a slow client
+ * does not delay the others. A client whose buffer is full is sent a {@code RESET} of both entities instead of its pending
+ * changes, and its stream is completed: it reads the entities again when it reconnects.
+ */
+@Component
+public class EntityChangeBroadcaster implements DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EntityChangeBroadcaster.class);
+
+    public static final String APP_USER_EVENT = "appUser";
+
+    public static final String USER_GROUP_EVENT = "userGroup";
+
+    /**
+     * The clients reconnect once their stream times out, and read the entities again as they may have missed changes meanwhile.
+     */
+    private static final Duration STREAM_TIMEOUT = Duration.ofMinutes(30);
+
+    private static final int SUBSCRIBER_BUFFER_SIZE = 256;
+
+    private final AppUserRepository appUserRepository;
+
+    private final UserGroupRepository userGroupRepository;
+
+    private final ObjectWriter changeWriter;
+
+    private final String resetData;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "entity-change-broadcaster");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ExecutorService sendExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "entity-change-sender");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public EntityChangeBroadcaster(
+        AppUserRepository appUserRepository,
+        UserGroupRepository userGroupRepository,
+        ObjectMapper objectMapper,
+        MeterRegistry meterRegistry
+    ) {
+        this.appUserRepository = appUserRepository;
+        this.userGroupRepository = userGroupRepository;
+        this.changeWriter = objectMapper.writerFor(EntityChangeVM.class);
+        try {
+            this.resetData = changeWriter.writeValueAsString(EntityChangeVM.reset());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize the reset of the entities", e);
+        }
+        Gauge.builder("web.rest.entity.changes.subscribers", subscribers, Set::size)
+            .description("The number of clients which are sent the changes of the entities")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Subscribe a client to the changes of the entities, from now on.
+     *
+     * @return the stream of the changes.
+     */
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT.toMillis());
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (!subscribers.isEmpty()) {
+            execute(() -> broadcast(event));
+        }
+    }
+
+    /**
+     * Keep the idle streams open through the proxies, and release the streams of the clients which left.
+     */
+    @Scheduled(fixedDelay = 15_000)
+    public void sendHeartbeat() {
+        if (!subscribers.isEmpty()) {
+            execute(() -> subscribers.forEach(subscriber -> subscriber.offer(SseEmitter.event().comment(""))));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+        sendExecutor.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    private void execute(Runnable task) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            LOG.debug("Not sending the changes, as the application is shutting down");
+        }
+    }
+
+    private void broadcast(EntityChangedEvent event) {
+        if (AppUser.class.equals(event.entityClass())) {
+            broadcast(APP_USER_EVENT, event, appUserRepository::findById);
+        } else if (UserGroup.class.equals(event.entityClass())) {
+            broadcast(USER_GROUP_EVENT, event, userGroupRepository::findById);
+        }
+    }
+
+    private void broadcast(String eventName, EntityChangedEvent event, Function<Long, Optional<?>> finder) {
+        if (event.ids() == null) {
+            broadcast(eventName, EntityChangeVM.reset());
+            return;
+        }
+        for (Object id : event.ids()) {
+            if (id instanceof Long entityId) {
+                Optional<?> entity = finder.apply(entityId);
+                broadcast(eventName, entity.isPresent() ? EntityChangeVM.upsert(entityId, entity.get()) : EntityChangeVM.delete(entityId));
+            }
+        }
+    }
+
+    private void broadcast(String eventName, EntityChangeVM change) {
+        String data;
+        try {
+            // Serialized once for all the clients
+            data = changeWriter.writeValueAsString(change);
+        } catch (JsonProcessingException e) {
+            LOG.error("Could not serialize {}", change, e);
+            return;
+        }
+        subscribers.forEach(subscriber -> subscriber.offer(SseEmitter.event().name(eventName).data(data)));
+    }
+
+    /**
+     * A client, and the changes it has not been sent yet. The changes are offered by the thread of the broadcaster only, and
+     * sent by at most one task at a time, in order.
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+
+        private final BlockingQueue<SseEmitter.SseEventBuilder> events = new ArrayBlockingQueue<>(SUBSCRIBER_BUFFER_SIZE);
+
+        private final AtomicBoolean sending = new AtomicBoolean();
+
+        private volatile boolean dropped;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private void offer(SseEmitter.SseEventBuilder event) {
+            if (dropped) {
+                return;
+            }
+            if (!events.offer(event)) {
+                LOG.debug("Dropping a client which does not keep up with the changes");
+                events.clear();
+                events.offer(SseEmitter.event().name(APP_USER_EVENT).data(resetData));
+                events.offer(SseEmitter.event().name(USER_GROUP_EVENT).data(resetData));
+                // Set once the resets are buffered, so the sending task does not complete the stream before sending them
+                dropped = true;
+            }
+            scheduleSend();
+        }
+
+        private void scheduleSend() {
+            if (sending.compareAndSet(false, true)) {
+                try {
+                    sendExecutor.execute(this::send);
+                } catch (RejectedExecutionException e) {
+                    sending.set(false);
+                }
+            }
+        }
+
+        private void send() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while ((event = events.poll()) != null) {
+                    emitter.send(event);
+                }
+                if (dropped && events.isEmpty()) {
+                    subscribers.remove(this);
+                    emitter.complete();
+                    return;
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The container tells the emitter about the failure, which completes it
+                LOG.debug("Could not send a change to a client, which probably left: {}", e.getMessage());
+                subscribers.remove(this);
+                return;
+            } finally {
+                sending.set(false);
+            }
+            // A change offered after the last poll, but before the flag was reset, is sent by a new task
+            if (!events.isEmpty()) {
+                scheduleSend();
+            }
+        }
+    }
+}
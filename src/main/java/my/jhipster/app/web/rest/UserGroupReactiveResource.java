@@ -0,0 +1,47 @@
+package my.jhipster.app.web.rest;
+
+import my.jhipster.app.domain.UserGroup;
+import my.jhipster.app.repository.reactive.UserGroupReactiveRepository;
+import my.jhipster.app.web.rest.util.KeysetPaginationUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+/**
+ * REST controller streaming the {@link UserGroup}s from the reactive driver, when the {@code reactive} profile is active, like
+ * the {@link AppUserReactiveResource} does.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/user-groups")
+public class UserGroupReactiveResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UserGroupReactiveResource.class);
+
+    private final UserGroupReactiveRepository userGroupReactiveRepository;
+
+    public UserGroupReactiveResource(UserGroupReactiveRepository userGroupReactiveRepository) {
+        this.userGroupReactiveRepository = userGroupReactiveRepository;
+    }
+
+    /**
+     * {@code GET  /user-groups/stream} : stream the userGroups, ordered by id, as newline delimited JSON.
+     * <p>
+     * Their appUser is left out, as resolving it would block on one query per userGroup. A client which lost the stream resumes
+     * it after the id of the last userGroup it received.
+     *
+     * @param after the id of the last userGroup already received, if any.
+     * @return the userGroups, one JSON document per line.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<UserGroup> streamUserGroups(@RequestParam(name = KeysetPaginationUtil.AFTER_PARAM, required = false) Long after) {
+        LOG.debug("REST request to stream UserGroups after : {}", after);
+        return userGroupReactiveRepository.streamAllAfter(after == null ? Long.MIN_VALUE : after);
+    }
+}
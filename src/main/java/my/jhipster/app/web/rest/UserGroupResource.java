@@ -7,16 +7,26 @@ import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+import my.jhipster.app.domain.AppUser;
 import my.jhipster.app.domain.UserGroup;
 import my.jhipster.app.repository.UserGroupRepository;
 import my.jhipster.app.web.rest.errors.BadRequestAlertException;
+import my.jhipster.app.web.rest.errors.PreconditionFailedAlertException;
+import my.jhipster.app.web.rest.util.ETagUtil;
+import my.jhipster.app.web.rest.util.KeysetPaginationUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.ResponseUtil;
 
 /**
  * REST controller for managing {@link my.jhipster.app.domain.UserGroup}.
@@ -29,6 +39,8 @@ public class UserGroupResource {
 
     private static final String ENTITY_NAME = "userGroup";
 
+    private static final String INCLUDE_APP_USER = "appUser";
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -53,6 +65,7 @@ public class UserGroupResource {
         }
         userGroup = userGroupRepository.save(userGroup);
         return ResponseEntity.created(new URI("/api/user-groups/" + userGroup.getId()))
+            .eTag(eTag(userGroup))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, userGroup.getId().toString()))
             .body(userGroup);
     }
@@ -61,15 +74,18 @@ public class UserGroupResource {
      * {@code PUT  /user-groups/:id} : Updates an existing userGroup.
      *
      * @param id the id of the userGroup to save.
+     * @param ifMatch the entity tag of the userGroup which is updated, if it must not have been modified since.
      * @param userGroup the userGroup to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated userGroup,
      * or with status {@code 400 (Bad Request)} if the userGroup is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the userGroup was modified since the {@code If-Match} entity tag,
      * or with status {@code 500 (Internal Server Error)} if the userGroup couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
     public ResponseEntity<UserGroup> updateUserGroup(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @Valid @RequestBody UserGroup userGroup
     ) throws URISyntaxException {
         LOG.debug("REST request to update UserGroup : {}, {}", id, userGroup);
@@ -80,12 +96,13 @@ public class UserGroupResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!userGroupRepository.existsById(id)) {
+        userGroup.setVersion(requiredVersion(ifMatch));
+        if (!userGroupRepository.replace(userGroup)) {
+            checkModified(userGroup);
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
-
-        userGroup = userGroupRepository.save(userGroup);
         return ResponseEntity.ok()
+            .eTag(eTag(userGroup))
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, userGroup.getId().toString()))
             .body(userGroup);
     }
@@ -94,9 +111,11 @@ public class UserGroupResource {
      * {@code PATCH  /user-groups/:id} : Partial updates given fields of an existing userGroup, field will ignore if it is null
      *
      * @param id the id of the userGroup to save.
+     * @param ifMatch the entity tag of the userGroup which is updated, if it must not have been modified since.
      * @param userGroup the userGroup to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated userGroup,
      * or with status {@code 400 (Bad Request)} if the userGroup is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the userGroup was modified since the {@code If-Match} entity tag,
      * or with status {@code 404 (Not Found)} if the userGroup is not found,
      * or with status {@code 500 (Internal Server Error)} if the userGroup couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
@@ -104,6 +123,7 @@ public class UserGroupResource {
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<UserGroup> partialUpdateUserGroup(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @NotNull @RequestBody UserGroup userGroup
     ) throws URISyntaxException {
         LOG.debug("REST request to partial update UserGroup partially : {}, {}", id, userGroup);
@@ -114,49 +134,70 @@ public class UserGroupResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!userGroupRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        userGroup.setVersion(requiredVersion(ifMatch));
+        Optional<UserGroup> result = userGroupRepository.partialUpdate(userGroup);
+        if (result.isEmpty()) {
+            checkModified(userGroup);
         }
 
-        Optional<UserGroup> result = userGroupRepository
-            .findById(userGroup.getId())
-            .map(existingUserGroup -> {
-                if (userGroup.getName() != null) {
-                    existingUserGroup.setName(userGroup.getName());
-                }
-
-                return existingUserGroup;
-            })
-            .map(userGroupRepository::save);
-
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, userGroup.getId().toString())
-        );
+        return result
+            .map(updated ->
+                ResponseEntity.ok()
+                    .eTag(eTag(updated))
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, userGroup.getId().toString()))
+                    .body(updated)
+            )
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
     }
 
     /**
-     * {@code GET  /user-groups} : get all the userGroups.
+     * {@code GET  /user-groups} : get a slice of the userGroups, ordered by id.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of userGroups in body.
+     * @param after the id of the last userGroup of the previous slice, if any.
+     * @param size the maximum number of userGroups to return.
+     * @param include the relationships to read with the userGroups: {@code appUser} for their appUser, which is left empty otherwise.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of userGroups in body and its entity tag,
+     * or with status {@code 304 (Not Modified)} if it matches the {@code If-None-Match} header,
+     * and a {@code Link} header to the next slice if there is one,
+     * or with status {@code 400 (Bad Request)} if the include is not supported.
      */
     @GetMapping("")
-    public List<UserGroup> getAllUserGroups() {
-        LOG.debug("REST request to get all UserGroups");
-        return userGroupRepository.findAll();
+    public ResponseEntity<List<UserGroup>> getAllUserGroups(
+        @RequestParam(name = KeysetPaginationUtil.AFTER_PARAM, required = false) Long after,
+        @RequestParam(name = KeysetPaginationUtil.SIZE_PARAM, defaultValue = KeysetPaginationUtil.DEFAULT_PAGE_SIZE) int size,
+        @RequestParam(name = "include", required = false) Set<String> include
+    ) {
+        LOG.debug("REST request to get a slice of UserGroups after : {}, including : {}", after, include);
+        boolean withAppUser = include != null && include.contains(INCLUDE_APP_USER);
+        if (include != null && include.size() > (withAppUser ? 1 : 0)) {
+            throw new BadRequestAlertException("Include not supported", ENTITY_NAME, "includenotsupported");
+        }
+        Slice<UserGroup> slice = userGroupRepository.findAllAfter(after, KeysetPaginationUtil.keysetPageable(size), withAppUser);
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+            ServletUriComponentsBuilder.fromCurrentRequest(),
+            slice,
+            UserGroup::getId
+        );
+        String eTag = ETagUtil.forList(
+            Stream.concat(slice.getContent().stream().flatMap(UserGroupResource::idsAndVersions), Stream.of(slice.hasNext()))
+        );
+        return ResponseEntity.ok().eTag(eTag).cacheControl(ETagUtil.REVALIDATE).headers(headers).body(slice.getContent());
     }
 
     /**
      * {@code GET  /user-groups/:id} : get the "id" userGroup.
      *
      * @param id the id of the userGroup to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the userGroup, or with status {@code 404 (Not Found)}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the userGroup and its entity tag,
+     * or with status {@code 304 (Not Modified)} if it matches the {@code If-None-Match} header, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
     public ResponseEntity<UserGroup> getUserGroup(@PathVariable("id") Long id) {
         LOG.debug("REST request to get UserGroup : {}", id);
         Optional<UserGroup> userGroup = userGroupRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(userGroup);
+        return userGroup
+            .map(found -> ResponseEntity.ok().eTag(eTag(found)).cacheControl(ETagUtil.REVALIDATE).body(found))
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
     }
 
     /**
@@ -173,4 +214,37 @@ public class UserGroupResource {
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    /**
+     * The entity tag of a userGroup, whose representation embeds its appUser when it is read.
+     */
+    private static String eTag(UserGroup userGroup) {
+        return ETagUtil.forEntity(userGroup.getVersion(), appUserIdAndVersion(userGroup));
+    }
+
+    private static Stream<Object> idsAndVersions(UserGroup userGroup) {
+        return Stream.concat(Stream.of(userGroup.getId(), userGroup.getVersion()), appUserIdAndVersion(userGroup));
+    }
+
+    private static Stream<Object> appUserIdAndVersion(UserGroup userGroup) {
+        AppUser appUser = userGroup.getAppUser();
+        return appUser == null ? Stream.empty() : Stream.of(appUser.getId(), appUser.getVersion());
+    }
+
+    private static Long requiredVersion(String ifMatch) {
+        try {
+            return ETagUtil.requiredVersion(ifMatch);
+        } catch (IllegalArgumentException e) {
+            throw new PreconditionFailedAlertException("Entity tag does not match", ENTITY_NAME, "concurrencyFailure");
+        }
+    }
+
+    /**
+     * An update which required a version can miss the userGroup because it was modified, rather than deleted.
+     */
+    private void checkModified(UserGroup userGroup) {
+        if (userGroup.getVersion() != null && userGroupRepository.existsById(userGroup.getId())) {
+            throw new PreconditionFailedAlertException("Entity was modified", ENTITY_NAME, "concurrencyFailure");
+        }
+    }
 }
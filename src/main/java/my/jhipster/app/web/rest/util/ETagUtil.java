@@ -0,0 +1,85 @@
+package my.jhipster.app.web.rest.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.springframework.http.CacheControl;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Utility class for the strong entity tags of the versioned entities, following
+ * <a href="https://www.rfc-editor.org/rfc/rfc9110#name-etag">RFC 9110 (ETag)</a>.
+ * <p>
+ * The entity tag of an entity starts with its version, followed by a digest of the ids and versions of the related entities
+ * embedded in its representation, if any. The {@code If-Match} header of an update is only compared to the version, as the
+ * update only writes the entity itself: it is checked by the update query, without reading the entity first.
+ * <p>
+ * Spring MVC answers {@code 304 (Not Modified)} to the {@code GET} requests whose {@code If-None-Match} header matches the entity
+ * tag of the response, without writing its body.
+ */
+public final class ETagUtil {
+
+    /**
+     * Let the clients store the responses, provided they revalidate them with their entity tag before each use.
+     */
+    public static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private static final char VERSION_SEPARATOR = '-';
+
+    private ETagUtil() {}
+
+    /**
+     * Build the entity tag of an entity.
+     *
+     * @param version the version of the entity.
+     * @param embeddedIdsAndVersions the ids and versions of the related entities embedded in its representation.
+     * @return the quoted entity tag.
+     */
+    public static String forEntity(Long version, Stream<?> embeddedIdsAndVersions) {
+        String embedded = join(embeddedIdsAndVersions);
+        return embedded.isEmpty() ? quote(String.valueOf(version)) : quote(String.valueOf(version) + VERSION_SEPARATOR + digest(embedded));
+    }
+
+    /**
+     * Build the entity tag of a list of entities.
+     *
+     * @param idsAndVersions the ids and versions of the entities and of their embedded entities, and anything else the
+     * representation depends on.
+     * @return the quoted entity tag.
+     */
+    public static String forList(Stream<?> idsAndVersions) {
+        return quote(digest(join(idsAndVersions)));
+    }
+
+    /**
+     * Read the version of an entity required by an {@code If-Match} header.
+     *
+     * @param ifMatch the {@code If-Match} header, if any.
+     * @return the required version, or {@code null} if any version matches: without header, or with the {@code *} header.
+     * @throws IllegalArgumentException if the header is not the entity tag of an entity, as weak entity tags never match.
+     */
+    public static Long requiredVersion(String ifMatch) {
+        if (ifMatch == null || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        String etag = ifMatch.trim();
+        if (etag.length() < 3 || etag.charAt(0) != '"' || etag.charAt(etag.length() - 1) != '"') {
+            throw new IllegalArgumentException("Not a strong entity tag: " + ifMatch);
+        }
+        String opaqueTag = etag.substring(1, etag.length() - 1);
+        int separator = opaqueTag.indexOf(VERSION_SEPARATOR);
+        return Long.valueOf(separator < 0 ? opaqueTag : opaqueTag.substring(0, separator));
+    }
+
+    private static String join(Stream<?> parts) {
+        return parts.map(String::valueOf).collect(Collectors.joining(":"));
+    }
+
+    private static String digest(String value) {
+        return DigestUtils.md5DigestAsHex(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String quote(String opaqueTag) {
+        return "\"" + opaqueTag + "\"";
+    }
+}
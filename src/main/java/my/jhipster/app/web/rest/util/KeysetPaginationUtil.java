@@ -0,0 +1,116 @@
+package my.jhipster.app.web.rest.util;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for handling keyset (cursor based) pagination.
+ * <p>
+ * Instead of a page number, clients send the id of the last element they received in the {@code after} query parameter,
+ * which the repositories turn into an indexed range query on {@code _id}. The URI of the next slice is returned
+ * in a {@code Link} header, following <a href="https://tools.ietf.org/html/rfc5988">RFC 5988 (Link header)</a>.
+ * <p>
+ * When the slices are sorted on another property, the link also holds the value of this property for the last element, in
+ * the opaque {@code afterValue} query parameter: the next slice is still found once the last element is deleted.
+ */
+public final class KeysetPaginationUtil {
+
+    public static final String AFTER_PARAM = "after";
+
+    public static final String AFTER_VALUE_PARAM = "afterValue";
+
+    public static final String SIZE_PARAM = "size";
+
+    public static final String DEFAULT_PAGE_SIZE = "20";
+
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private KeysetPaginationUtil() {}
+
+    /**
+     * Build the {@link Pageable} for the first slice after a cursor, ordered by id.
+     *
+     * @param size the requested slice size, clamped between 1 and {@link #MAX_PAGE_SIZE}.
+     * @return the {@link Pageable} to pass to the repository.
+     */
+    public static Pageable keysetPageable(int size) {
+        return keysetPageable(size, Sort.unsorted());
+    }
+
+    /**
+     * Build the {@link Pageable} for the first slice after a cursor, ordered by the given sort, or by id if unsorted.
+     *
+     * @param size the requested slice size, clamped between 1 and {@link #MAX_PAGE_SIZE}.
+     * @param sort the requested sort.
+     * @return the {@link Pageable} to pass to the repository.
+     */
+    public static Pageable keysetPageable(int size, Sort sort) {
+        return PageRequest.of(0, Math.min(Math.max(size, 1), MAX_PAGE_SIZE), sort.isSorted() ? sort : Sort.by(Sort.Direction.ASC, "id"));
+    }
+
+    /**
+     * Generate the pagination headers for a slice, with a {@code next} link when there are more elements.
+     *
+     * @param uriBuilder the URI builder of the current request.
+     * @param slice the slice returned by the repository.
+     * @param cursor extracts the cursor value of the last element of the slice.
+     * @param <T> the type of object.
+     * @return the {@link HttpHeaders}.
+     */
+    public static <T> HttpHeaders generateKeysetPaginationHttpHeaders(UriComponentsBuilder uriBuilder, Slice<T> slice, Function<T, ?> cursor) {
+        return generateKeysetPaginationHttpHeaders(uriBuilder, slice, cursor, element -> null);
+    }
+
+    /**
+     * Generate the pagination headers for a slice sorted on another property than the id, with a {@code next} link when there
+     * are more elements.
+     *
+     * @param uriBuilder the URI builder of the current request.
+     * @param slice the slice returned by the repository.
+     * @param cursor extracts the cursor value of the last element of the slice.
+     * @param sortValue extracts the value of the sort property of the last element of the slice, or {@code null} if there is none.
+     * @param <T> the type of object.
+     * @return the {@link HttpHeaders}.
+     */
+    public static <T> HttpHeaders generateKeysetPaginationHttpHeaders(
+        UriComponentsBuilder uriBuilder,
+        Slice<T> slice,
+        Function<T, ?> cursor,
+        Function<T, String> sortValue
+    ) {
+        HttpHeaders headers = new HttpHeaders();
+        List<T> content = slice.getContent();
+        if (slice.hasNext() && !content.isEmpty()) {
+            T last = content.get(content.size() - 1);
+            uriBuilder.replaceQueryParam(AFTER_PARAM, cursor.apply(last)).replaceQueryParam(AFTER_VALUE_PARAM);
+            String value = sortValue.apply(last);
+            if (value != null) {
+                // Encoded, as the URI of the link is not: a '+' would be read back as a space
+                uriBuilder.queryParam(AFTER_VALUE_PARAM, Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(UTF_8)));
+            }
+            String next = uriBuilder.replaceQueryParam(SIZE_PARAM, slice.getSize()).toUriString();
+            headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return headers;
+    }
+
+    /**
+     * Read the value of the sort property of the last element of the previous slice, as written in the {@code next} link.
+     *
+     * @param afterValue the {@code afterValue} query parameter.
+     * @return the value of the sort property.
+     * @throws IllegalArgumentException if the parameter was not written by a {@code next} link.
+     */
+    public static String decodeAfterValue(String afterValue) {
+        return new String(Base64.getUrlDecoder().decode(afterValue), UTF_8);
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Rest layer utilities.
+ */
+package my.jhipster.app.web.rest.util;
@@ -0,0 +1,49 @@
+package my.jhipster.app.web.rest.vm;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * View Model telling whether the keys of an appUser are available: the keys which were not checked are left out.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AppUserAvailabilityVM {
+
+    private Boolean username;
+
+    private Boolean email;
+
+    private Boolean externalUserId;
+
+    public Boolean getUsername() {
+        return username;
+    }
+
+    public void setUsername(Boolean username) {
+        this.username = username;
+    }
+
+    public Boolean getEmail() {
+        return email;
+    }
+
+    public void setEmail(Boolean email) {
+        this.email = email;
+    }
+
+    public Boolean getExternalUserId() {
+        return externalUserId;
+    }
+
+    public void setExternalUserId(Boolean externalUserId) {
+        this.externalUserId = externalUserId;
+    }
+
+    @Override
+    public String toString() {
+        return "AppUserAvailabilityVM{" +
+            "username=" + username +
+            ", email=" + email +
+            ", externalUserId=" + externalUserId +
+            "}";
+    }
+}
@@ -0,0 +1,58 @@
+package my.jhipster.app.web.rest.vm;
+
+/**
+ * View Model for the result of writing one item of a bulk request.
+ */
+public class BulkItemResultVM {
+
+    private final int index;
+
+    private final Long id;
+
+    private final int status;
+
+    private final String error;
+
+    public BulkItemResultVM(int index, Long id, int status, String error) {
+        this.index = index;
+        this.id = id;
+        this.status = status;
+        this.error = error;
+    }
+
+    /**
+     * @return the position of the item in the request, starting at 0.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * @return the HTTP status the item would have had if it had been written on its own.
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * @return why the item was not written, or {@code null} if it was.
+     */
+    public String getError() {
+        return error;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BulkItemResultVM{" +
+            "index=" + index +
+            ", id=" + id +
+            ", status=" + status +
+            ", error='" + error + "'" +
+            "}";
+    }
+}
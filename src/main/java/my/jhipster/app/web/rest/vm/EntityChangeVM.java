@@ -0,0 +1,70 @@
+package my.jhipster.app.web.rest.vm;
+
+/**
+ * View Model for the change of an entity, pushed to the clients which display it.
+ */
+public class EntityChangeVM {
+
+    public enum Type {
+        /**
+         * The entity was created or updated, and is sent as it is now.
+         */
+        UPSERT,
+        /**
+         * The entity was deleted.
+         */
+        DELETE,
+        /**
+         * Unknown entities may have been written, the clients must read them again.
+         */
+        RESET,
+    }
+
+    private final Type type;
+
+    private final Long id;
+
+    private final Object entity;
+
+    private EntityChangeVM(Type type, Long id, Object entity) {
+        this.type = type;
+        this.id = id;
+        this.entity = entity;
+    }
+
+    public static EntityChangeVM upsert(Long id, Object entity) {
+        return new EntityChangeVM(Type.UPSERT, id, entity);
+    }
+
+    public static EntityChangeVM delete(Long id) {
+        return new EntityChangeVM(Type.DELETE, id, null);
+    }
+
+    public static EntityChangeVM reset() {
+        return new EntityChangeVM(Type.RESET, null, null);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * @return the entity as it is now, or {@code null} unless it was created or updated.
+     */
+    public Object getEntity() {
+        return entity;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "EntityChangeVM{" +
+            "type=" + type +
+            ", id=" + id +
+            "}";
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Rest layer visual models.
+ */
+package my.jhipster.app.web.rest.vm;
@@ -7,7 +7,7 @@ import { FontAwesomeIcon } from '@fortawesome/react-fontawesome';
 import { APP_DATE_FORMAT } from 'app/config/constants';
 import { useAppDispatch, useAppSelector } from 'app/config/store';
 
-import { getEntity } from './app-user.reducer';
+import { getEntityWithGroups } from './app-user.reducer';
 
 export const AppUserDetail = () => {
   const dispatch = useAppDispatch();
@@ -15,7 +15,7 @@ export const AppUserDetail = () => {
   const { id } = useParams<'id'>();
 
   useEffect(() => {
-    dispatch(getEntity(id));
+    dispatch(getEntityWithGroups(id));
   }, []);
 
   const appUserEntity = useAppSelector(state => state.appUser.entity);
@@ -78,6 +78,19 @@ export const AppUserDetail = () => {
           <dd>
             {appUserEntity.lastLoginDate ? <TextFormat value={appUserEntity.lastLoginDate} type="date" format={APP_DATE_FORMAT} /> : null}
           </dd>
+          <dt>
+            <Translate contentKey="myjhappApp.appUser.userGroup">User Group</Translate>
+          </dt>
+          <dd>
+            {appUserEntity.userGroups
+              ? appUserEntity.userGroups.map((val, i) => (
+                  <span key={val.id}>
+                    <Link to={`/user-group/${val.id}`}>{val.name}</Link>
+                    {i === appUserEntity.userGroups.length - 1 ? '' : ', '}
+                  </span>
+                ))
+              : null}
+          </dd>
         </dl>
         <Button tag={Link} to="/app-user" replace color="info" data-cy="entityDetailsBackButton">
           <FontAwesomeIcon icon="arrow-left" />{' '}
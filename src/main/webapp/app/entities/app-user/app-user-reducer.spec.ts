@@ -5,7 +5,17 @@ import sinon from 'sinon';
 
 import { EntityState } from 'app/shared/reducers/reducer.utils';
 import { IAppUser, defaultValue } from 'app/shared/model/app-user.model';
-import reducer, { createEntity, deleteEntity, getEntities, getEntity, partialUpdateEntity, reset, updateEntity } from './app-user.reducer';
+import reducer, {
+  applyChange,
+  createEntity,
+  deleteEntity,
+  getEntities,
+  getEntity,
+  getEntityWithGroups,
+  partialUpdateEntity,
+  reset,
+  updateEntity,
+} from './app-user.reducer';
 
 describe('Entities reducer tests', () => {
   function isEmpty(element): boolean {
@@ -20,6 +30,7 @@ describe('Entities reducer tests', () => {
     errorMessage: null,
     entities: [],
     entity: defaultValue,
+    links: {},
     updating: false,
     updateSuccess: false,
   };
@@ -120,6 +131,43 @@ describe('Entities reducer tests', () => {
       });
     });
 
+    it('should append the next slice of entities', () => {
+      const payload = { data: [{ id: 2 }], headers: { link: '<http://localhost/api?after=2&size=1>; rel="next"' } };
+      expect(
+        reducer(
+          { ...initialState, entities: [{ id: 1 }] },
+          {
+            type: getEntities.fulfilled.type,
+            payload,
+            meta: { arg: { after: 1 } },
+          },
+        ),
+      ).toEqual({
+        ...initialState,
+        loading: false,
+        links: { next: '2' },
+        entities: [{ id: 1 }, { id: 2 }],
+      });
+    });
+
+    it('should keep the sort value of the cursor of a sorted slice', () => {
+      const payload = {
+        data: [{ id: 2 }],
+        headers: { link: '<http://localhost/api?after=2&afterValue=dXNlcjI&size=1&sort=username,asc>; rel="next"' },
+      };
+      expect(
+        reducer(undefined, {
+          type: getEntities.fulfilled.type,
+          payload,
+        }),
+      ).toEqual({
+        ...initialState,
+        loading: false,
+        links: { next: '2', nextAfterValue: 'dXNlcjI' },
+        entities: [{ id: 2 }],
+      });
+    });
+
     it('should fetch a single entity', () => {
       const payload = { data: { 1: 'fake1' } };
       expect(
@@ -160,6 +208,17 @@ describe('Entities reducer tests', () => {
         updateSuccess: true,
       });
     });
+
+    it('should apply the pushed changes to the listed entities', () => {
+      const state = { ...initialState, entities: [{ id: 1, version: 1 }, { id: 2 }] };
+
+      expect(reducer(state, applyChange({ type: 'UPSERT', id: 1, entity: { id: 1, version: 2 } })).entities).toEqual([
+        { id: 1, version: 2 },
+        { id: 2 },
+      ]);
+      expect(reducer(state, applyChange({ type: 'DELETE', id: 2 })).entities).toEqual([{ id: 1, version: 1 }]);
+      expect(reducer(state, applyChange({ type: 'UPSERT', id: 3, entity: { id: 3, version: 0 } })).entities).toHaveLength(3);
+    });
   });
 
   describe('Actions', () => {
@@ -190,6 +249,14 @@ describe('Entities reducer tests', () => {
       expect(getEntities.fulfilled.match(result)).toBe(true);
     });
 
+    it('sends the sort value of the cursor, whose app user may be deleted', async () => {
+      const arg = { after: 2, afterValue: 'dXNlcjI', size: 1, sort: 'username,asc' };
+
+      await getEntities(arg)(dispatch, getState, extra);
+
+      expect((axios.get as sinon.SinonStub).calledWith('api/app-users?after=2&afterValue=dXNlcjI&size=1&sort=username,asc')).toBe(true);
+    });
+
     it('dispatches FETCH_APPUSER actions', async () => {
       const arg = 42666;
 
@@ -200,6 +267,17 @@ describe('Entities reducer tests', () => {
       expect(getEntity.fulfilled.match(result)).toBe(true);
     });
 
+    it('dispatches FETCH_APPUSER_WITH_GROUPS actions', async () => {
+      const arg = 42666;
+
+      const result = await getEntityWithGroups(arg)(dispatch, getState, extra);
+
+      const pendingAction = dispatch.mock.calls[0][0];
+      expect(pendingAction.meta.requestStatus).toBe('pending');
+      expect(getEntityWithGroups.fulfilled.match(result)).toBe(true);
+      expect((axios.get as sinon.SinonStub).calledWith('api/app-users/42666?expand=groups')).toBe(true);
+    });
+
     it('dispatches CREATE_APPUSER actions', async () => {
       const arg = { id: 456 };
 
@@ -211,13 +289,14 @@ describe('Entities reducer tests', () => {
     });
 
     it('dispatches UPDATE_APPUSER actions', async () => {
-      const arg = { id: 456 };
+      const arg = { id: 456, version: 2 };
 
       const result = await updateEntity(arg)(dispatch, getState, extra);
 
       const pendingAction = dispatch.mock.calls[0][0];
       expect(pendingAction.meta.requestStatus).toBe('pending');
       expect(updateEntity.fulfilled.match(result)).toBe(true);
+      expect((axios.put as sinon.SinonStub).calledWith('api/app-users/456', arg, { headers: { 'If-Match': '"2"' } })).toBe(true);
     });
 
     it('dispatches PARTIAL_UPDATE_APPUSER actions', async () => {
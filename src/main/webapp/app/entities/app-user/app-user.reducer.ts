@@ -1,7 +1,8 @@
 import axios from 'axios';
-import { createAsyncThunk, isFulfilled, isPending } from '@reduxjs/toolkit';
-import { ASC } from 'app/shared/util/pagination.constants';
-import { cleanEntity } from 'app/shared/util/entity-utils';
+import { PayloadAction, createAsyncThunk, isFulfilled, isPending } from '@reduxjs/toolkit';
+import { ITEMS_PER_PAGE } from 'app/shared/util/pagination.constants';
+import { cleanEntity, ifMatch, parseNextAfterValue, parseNextCursor } from 'app/shared/util/entity-utils';
+import { IEntityChange, applyEntityChange } from 'app/shared/util/entity-changes';
 import { EntityState, IQueryParams, createEntitySlice, serializeAxiosError } from 'app/shared/reducers/reducer.utils';
 import { IAppUser, defaultValue } from 'app/shared/model/app-user.model';
 
@@ -10,6 +11,7 @@ const initialState: EntityState<IAppUser> = {
   errorMessage: null,
   entities: [],
   entity: defaultValue,
+  links: {},
   updating: false,
   updateSuccess: false,
 };
@@ -20,8 +22,9 @@ const apiUrl = 'api/app-users';
 
 export const getEntities = createAsyncThunk(
   'appUser/fetch_entity_list',
-  async ({ sort }: IQueryParams) => {
-    const requestUrl = `${apiUrl}?${sort ? `sort=${sort}&` : ''}cacheBuster=${new Date().getTime()}`;
+  async ({ after, afterValue, size, sort }: IQueryParams) => {
+    const cursor = `${after ? `after=${after}&` : ''}${afterValue ? `afterValue=${encodeURIComponent(afterValue)}&` : ''}`;
+    const requestUrl = `${apiUrl}?${cursor}size=${size ?? ITEMS_PER_PAGE}${sort ? `&sort=${sort}` : ''}`;
     return axios.get<IAppUser[]>(requestUrl);
   },
   { serializeError: serializeAxiosError },
@@ -36,43 +39,44 @@ export const getEntity = createAsyncThunk(
   { serializeError: serializeAxiosError },
 );
 
+export const getEntityWithGroups = createAsyncThunk(
+  'appUser/fetch_entity_with_groups',
+  async (id: string | number) => {
+    const requestUrl = `${apiUrl}/${id}?expand=groups`;
+    return axios.get<IAppUser>(requestUrl);
+  },
+  { serializeError: serializeAxiosError },
+);
+
 export const createEntity = createAsyncThunk(
   'appUser/create_entity',
-  async (entity: IAppUser, thunkAPI) => {
-    const result = await axios.post<IAppUser>(apiUrl, cleanEntity(entity));
-    thunkAPI.dispatch(getEntities({}));
-    return result;
+  async (entity: IAppUser) => {
+    return axios.post<IAppUser>(apiUrl, cleanEntity(entity));
   },
   { serializeError: serializeAxiosError },
 );
 
 export const updateEntity = createAsyncThunk(
   'appUser/update_entity',
-  async (entity: IAppUser, thunkAPI) => {
-    const result = await axios.put<IAppUser>(`${apiUrl}/${entity.id}`, cleanEntity(entity));
-    thunkAPI.dispatch(getEntities({}));
-    return result;
+  async (entity: IAppUser) => {
+    return axios.put<IAppUser>(`${apiUrl}/${entity.id}`, cleanEntity(entity), ifMatch(entity.version));
   },
   { serializeError: serializeAxiosError },
 );
 
 export const partialUpdateEntity = createAsyncThunk(
   'appUser/partial_update_entity',
-  async (entity: IAppUser, thunkAPI) => {
-    const result = await axios.patch<IAppUser>(`${apiUrl}/${entity.id}`, cleanEntity(entity));
-    thunkAPI.dispatch(getEntities({}));
-    return result;
+  async (entity: IAppUser) => {
+    return axios.patch<IAppUser>(`${apiUrl}/${entity.id}`, cleanEntity(entity), ifMatch(entity.version));
   },
   { serializeError: serializeAxiosError },
 );
 
 export const deleteEntity = createAsyncThunk(
   'appUser/delete_entity',
-  async (id: string | number, thunkAPI) => {
+  async (id: string | number) => {
     const requestUrl = `${apiUrl}/${id}`;
-    const result = await axios.delete<IAppUser>(requestUrl);
-    thunkAPI.dispatch(getEntities({}));
-    return result;
+    return axios.delete<IAppUser>(requestUrl);
   },
   { serializeError: serializeAxiosError },
 );
@@ -82,31 +86,35 @@ export const deleteEntity = createAsyncThunk(
 export const AppUserSlice = createEntitySlice({
   name: 'appUser',
   initialState,
+  reducers: {
+    /**
+     * Apply a change pushed by the server to the listed appUsers.
+     */
+    applyChange(state, action: PayloadAction<IEntityChange<IAppUser>>) {
+      state.entities = applyEntityChange(state.entities, action.payload, !state.links?.next);
+    },
+  },
   extraReducers(builder) {
     builder
-      .addCase(getEntity.fulfilled, (state, action) => {
-        state.loading = false;
-        state.entity = action.payload.data;
-      })
       .addCase(deleteEntity.fulfilled, state => {
         state.updating = false;
         state.updateSuccess = true;
         state.entity = {};
       })
+      .addMatcher(isFulfilled(getEntity, getEntityWithGroups), (state, action) => {
+        state.loading = false;
+        state.entity = action.payload.data;
+      })
       .addMatcher(isFulfilled(getEntities), (state, action) => {
-        const { data } = action.payload;
+        const { data, headers } = action.payload;
+        // the server sorts the slices, the next one is appended as is
+        const entities = action.meta?.arg?.after ? [...state.entities, ...data] : data;
 
         return {
           ...state,
           loading: false,
-          entities: data.sort((a, b) => {
-            if (!action.meta?.arg?.sort) {
-              return 1;
-            }
-            const order = action.meta.arg.sort.split(',')[1];
-            const predicate = action.meta.arg.sort.split(',')[0];
-            return order === ASC ? (a[predicate] < b[predicate] ? -1 : 1) : b[predicate] < a[predicate] ? -1 : 1;
-          }),
+          links: { next: parseNextCursor(headers?.link), nextAfterValue: parseNextAfterValue(headers?.link) },
+          entities,
         };
       })
       .addMatcher(isFulfilled(createEntity, updateEntity, partialUpdateEntity), (state, action) => {
@@ -115,7 +123,7 @@ export const AppUserSlice = createEntitySlice({
         state.updateSuccess = true;
         state.entity = action.payload.data;
       })
-      .addMatcher(isPending(getEntities, getEntity), state => {
+      .addMatcher(isPending(getEntities, getEntity, getEntityWithGroups), state => {
         state.errorMessage = null;
         state.updateSuccess = false;
         state.loading = true;
@@ -128,7 +136,7 @@ export const AppUserSlice = createEntitySlice({
   },
 });
 
-export const { reset } = AppUserSlice.actions;
+export const { reset, applyChange } = AppUserSlice.actions;
 
 // Reducer
 export default AppUserSlice.reducer;
@@ -6,6 +6,8 @@ import sinon from 'sinon';
 import { EntityState } from 'app/shared/reducers/reducer.utils';
 import { IUserGroup, defaultValue } from 'app/shared/model/user-group.model';
 import reducer, {
+  applyAppUserChange,
+  applyChange,
   createEntity,
   deleteEntity,
   getEntities,
@@ -28,6 +30,7 @@ describe('Entities reducer tests', () => {
     errorMessage: null,
     entities: [],
     entity: defaultValue,
+    links: {},
     updating: false,
     updateSuccess: false,
   };
@@ -128,6 +131,25 @@ describe('Entities reducer tests', () => {
       });
     });
 
+    it('should append the next slice of entities', () => {
+      const payload = { data: [{ id: 2 }], headers: { link: '<http://localhost/api?after=2&size=1>; rel="next"' } };
+      expect(
+        reducer(
+          { ...initialState, entities: [{ id: 1 }] },
+          {
+            type: getEntities.fulfilled.type,
+            payload,
+            meta: { arg: { after: 1 } },
+          },
+        ),
+      ).toEqual({
+        ...initialState,
+        loading: false,
+        links: { next: '2' },
+        entities: [{ id: 1 }, { id: 2 }],
+      });
+    });
+
     it('should fetch a single entity', () => {
       const payload = { data: { 1: 'fake1' } };
       expect(
@@ -168,6 +190,34 @@ describe('Entities reducer tests', () => {
         updateSuccess: true,
       });
     });
+
+    it('should apply the pushed changes to the listed entities', () => {
+      const state = { ...initialState, entities: [{ id: 1, version: 0 }] };
+
+      expect(reducer(state, applyChange({ type: 'UPSERT', id: 1, entity: { id: 1, version: 1, name: 'renamed' } })).entities).toEqual([
+        { id: 1, version: 1, name: 'renamed' },
+      ]);
+      expect(reducer(state, applyChange({ type: 'DELETE', id: 1 })).entities).toEqual([]);
+    });
+
+    it('should apply the pushed changes to the embedded appUsers', () => {
+      const state = {
+        ...initialState,
+        entities: [
+          { id: 1, appUser: { id: 5, version: 1 } },
+          { id: 2, appUser: { id: 6, version: 1 } },
+        ],
+      };
+
+      expect(reducer(state, applyAppUserChange({ type: 'UPSERT', id: 5, entity: { id: 5, version: 2 } })).entities).toEqual([
+        { id: 1, appUser: { id: 5, version: 2 } },
+        { id: 2, appUser: { id: 6, version: 1 } },
+      ]);
+      expect(reducer(state, applyAppUserChange({ type: 'UPSERT', id: 5, entity: { id: 5, version: 0 } })).entities).toEqual(
+        state.entities,
+      );
+      expect(reducer(state, applyAppUserChange({ type: 'DELETE', id: 6 })).entities[1]).toEqual({ id: 2, appUser: null });
+    });
   });
 
   describe('Actions', () => {
@@ -1,8 +1,10 @@
 import axios from 'axios';
-import { createAsyncThunk, isFulfilled, isPending } from '@reduxjs/toolkit';
-import { ASC } from 'app/shared/util/pagination.constants';
-import { cleanEntity } from 'app/shared/util/entity-utils';
+import { PayloadAction, createAsyncThunk, isFulfilled, isPending } from '@reduxjs/toolkit';
+import { ASC, ITEMS_PER_PAGE } from 'app/shared/util/pagination.constants';
+import { cleanEntity, ifMatch, parseNextCursor } from 'app/shared/util/entity-utils';
+import { IEntityChange, applyEntityChange } from 'app/shared/util/entity-changes';
 import { EntityState, IQueryParams, createEntitySlice, serializeAxiosError } from 'app/shared/reducers/reducer.utils';
+import { IAppUser } from 'app/shared/model/app-user.model';
 import { IUserGroup, defaultValue } from 'app/shared/model/user-group.model';
 
 const initialState: EntityState<IUserGroup> = {
@@ -10,6 +12,7 @@ const initialState: EntityState<IUserGroup> = {
   errorMessage: null,
   entities: [],
   entity: defaultValue,
+  links: {},
   updating: false,
   updateSuccess: false,
 };
@@ -20,8 +23,8 @@ const apiUrl = 'api/user-groups';
 
 export const getEntities = createAsyncThunk(
   'userGroup/fetch_entity_list',
-  async ({ sort }: IQueryParams) => {
-    const requestUrl = `${apiUrl}?${sort ? `sort=${sort}&` : ''}cacheBuster=${new Date().getTime()}`;
+  async ({ after, size, sort }: IQueryParams) => {
+    const requestUrl = `${apiUrl}?${after ? `after=${after}&` : ''}size=${size ?? ITEMS_PER_PAGE}&include=appUser${sort ? `&sort=${sort}` : ''}`;
     return axios.get<IUserGroup[]>(requestUrl);
   },
   { serializeError: serializeAxiosError },
@@ -38,41 +41,33 @@ export const getEntity = createAsyncThunk(
 
 export const createEntity = createAsyncThunk(
   'userGroup/create_entity',
-  async (entity: IUserGroup, thunkAPI) => {
-    const result = await axios.post<IUserGroup>(apiUrl, cleanEntity(entity));
-    thunkAPI.dispatch(getEntities({}));
-    return result;
+  async (entity: IUserGroup) => {
+    return axios.post<IUserGroup>(apiUrl, cleanEntity(entity));
   },
   { serializeError: serializeAxiosError },
 );
 
 export const updateEntity = createAsyncThunk(
   'userGroup/update_entity',
-  async (entity: IUserGroup, thunkAPI) => {
-    const result = await axios.put<IUserGroup>(`${apiUrl}/${entity.id}`, cleanEntity(entity));
-    thunkAPI.dispatch(getEntities({}));
-    return result;
+  async (entity: IUserGroup) => {
+    return axios.put<IUserGroup>(`${apiUrl}/${entity.id}`, cleanEntity(entity), ifMatch(entity.version));
   },
   { serializeError: serializeAxiosError },
 );
 
 export const partialUpdateEntity = createAsyncThunk(
   'userGroup/partial_update_entity',
-  async (entity: IUserGroup, thunkAPI) => {
-    const result = await axios.patch<IUserGroup>(`${apiUrl}/${entity.id}`, cleanEntity(entity));
-    thunkAPI.dispatch(getEntities({}));
-    return result;
+  async (entity: IUserGroup) => {
+    return axios.patch<IUserGroup>(`${apiUrl}/${entity.id}`, cleanEntity(entity), ifMatch(entity.version));
   },
   { serializeError: serializeAxiosError },
 );
 
 export const deleteEntity = createAsyncThunk(
   'userGroup/delete_entity',
-  async (id: string | number, thunkAPI) => {
+  async (id: string | number) => {
     const requestUrl = `${apiUrl}/${id}`;
-    const result = await axios.delete<IUserGroup>(requestUrl);
-    thunkAPI.dispatch(getEntities({}));
-    return result;
+    return axios.delete<IUserGroup>(requestUrl);
   },
   { serializeError: serializeAxiosError },
 );
@@ -82,6 +77,25 @@ export const deleteEntity = createAsyncThunk(
 export const UserGroupSlice = createEntitySlice({
   name: 'userGroup',
   initialState,
+  reducers: {
+    /**
+     * Apply a change pushed by the server to the listed userGroups.
+     */
+    applyChange(state, action: PayloadAction<IEntityChange<IUserGroup>>) {
+      state.entities = applyEntityChange(state.entities, action.payload, !state.links?.next);
+    },
+    /**
+     * Apply a change of an appUser pushed by the server to the listed userGroups, which embed their appUser.
+     */
+    applyAppUserChange(state, action: PayloadAction<IEntityChange<IAppUser>>) {
+      const { type, id, entity } = action.payload;
+      const isChanged = (appUser?: IAppUser | null) =>
+        appUser?.id === id && (type === 'DELETE' || (type === 'UPSERT' && (entity?.version ?? -1) >= (appUser.version ?? -1)));
+      state.entities = state.entities.map(userGroup =>
+        isChanged(userGroup.appUser) ? { ...userGroup, appUser: type === 'DELETE' ? null : entity } : userGroup,
+      );
+    },
+  },
   extraReducers(builder) {
     builder
       .addCase(getEntity.fulfilled, (state, action) => {
@@ -94,12 +108,14 @@ export const UserGroupSlice = createEntitySlice({
         state.entity = {};
       })
       .addMatcher(isFulfilled(getEntities), (state, action) => {
-        const { data } = action.payload;
+        const { data, headers } = action.payload;
+        const entities = action.meta?.arg?.after ? [...state.entities, ...data] : data;
 
         return {
           ...state,
           loading: false,
-          entities: data.sort((a, b) => {
+          links: { next: parseNextCursor(headers?.link) },
+          entities: entities.sort((a, b) => {
             if (!action.meta?.arg?.sort) {
               return 1;
             }
@@ -128,7 +144,7 @@ export const UserGroupSlice = createEntitySlice({
   },
 });
 
-export const { reset } = UserGroupSlice.actions;
+export const { reset, applyChange, applyAppUserChange } = UserGroupSlice.actions;
 
 // Reducer
 export default UserGroupSlice.reducer;
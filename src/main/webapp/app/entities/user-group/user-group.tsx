@@ -1,14 +1,16 @@
 import React, { useEffect, useState } from 'react';
 import { Link, useLocation, useNavigate } from 'react-router-dom';
 import { Button, Table } from 'reactstrap';
+import InfiniteScroll from 'react-infinite-scroll-component';
 import { Translate, getSortState } from 'react-jhipster';
 import { FontAwesomeIcon } from '@fortawesome/react-fontawesome';
 import { faSort, faSortDown, faSortUp } from '@fortawesome/free-solid-svg-icons';
 import { ASC, DESC } from 'app/shared/util/pagination.constants';
 import { overrideSortStateWithQueryParams } from 'app/shared/util/entity-utils';
+import { subscribeToEntityChanges } from 'app/shared/util/entity-changes';
 import { useAppDispatch, useAppSelector } from 'app/config/store';
 
-import { getEntities } from './user-group.reducer';
+import { applyChange, applyAppUserChange, getEntities } from './user-group.reducer';
 
 export const UserGroup = () => {
   const dispatch = useAppDispatch();
@@ -20,6 +22,7 @@ export const UserGroup = () => {
 
   const userGroupList = useAppSelector(state => state.userGroup.entities);
   const loading = useAppSelector(state => state.userGroup.loading);
+  const links = useAppSelector(state => state.userGroup.links);
 
   const getAllEntities = () => {
     dispatch(
@@ -41,6 +44,19 @@ export const UserGroup = () => {
     sortEntities();
   }, [sortState.order, sortState.sort]);
 
+  // The changes are applied to the listed entities, which are only read again if some changes were missed
+  useEffect(
+    () =>
+      subscribeToEntityChanges(
+        {
+          userGroup: change => dispatch(applyChange(change)),
+          appUser: change => dispatch(applyAppUserChange(change)),
+        },
+        getAllEntities,
+      ),
+    [sortState.order, sortState.sort],
+  );
+
   const sort = p => () => {
     setSortState({
       ...sortState,
@@ -53,6 +69,15 @@ export const UserGroup = () => {
     sortEntities();
   };
 
+  const handleLoadMore = () => {
+    dispatch(
+      getEntities({
+        sort: `${sortState.sort},${sortState.order}`,
+        after: links.next,
+      }),
+    );
+  };
+
   const getSortIconByFieldName = (fieldName: string) => {
     const sortFieldName = sortState.sort;
     const order = sortState.order;
@@ -79,71 +104,78 @@ export const UserGroup = () => {
         </div>
       </h2>
       <div className="table-responsive">
-        {userGroupList && userGroupList.length > 0 ? (
-          <Table responsive>
-            <thead>
-              <tr>
-                <th className="hand" onClick={sort('id')}>
-                  <Translate contentKey="myjhappApp.userGroup.id">Id</Translate> <FontAwesomeIcon icon={getSortIconByFieldName('id')} />
-                </th>
-                <th className="hand" onClick={sort('name')}>
-                  <Translate contentKey="myjhappApp.userGroup.name">Name</Translate>{' '}
-                  <FontAwesomeIcon icon={getSortIconByFieldName('name')} />
-                </th>
-                <th>
-                  <Translate contentKey="myjhappApp.userGroup.appUser">App User</Translate> <FontAwesomeIcon icon="sort" />
-                </th>
-                <th />
-              </tr>
-            </thead>
-            <tbody>
-              {userGroupList.map((userGroup, i) => (
-                <tr key={`entity-${i}`} data-cy="entityTable">
-                  <td>
-                    <Button tag={Link} to={`/user-group/${userGroup.id}`} color="link" size="sm">
-                      {userGroup.id}
-                    </Button>
-                  </td>
-                  <td>{userGroup.name}</td>
-                  <td>{userGroup.appUser ? <Link to={`/app-user/${userGroup.appUser.id}`}>{userGroup.appUser.id}</Link> : ''}</td>
-                  <td className="text-end">
-                    <div className="btn-group flex-btn-group-container">
-                      <Button tag={Link} to={`/user-group/${userGroup.id}`} color="info" size="sm" data-cy="entityDetailsButton">
-                        <FontAwesomeIcon icon="eye" />{' '}
-                        <span className="d-none d-md-inline">
-                          <Translate contentKey="entity.action.view">View</Translate>
-                        </span>
-                      </Button>
-                      <Button tag={Link} to={`/user-group/${userGroup.id}/edit`} color="primary" size="sm" data-cy="entityEditButton">
-                        <FontAwesomeIcon icon="pencil-alt" />{' '}
-                        <span className="d-none d-md-inline">
-                          <Translate contentKey="entity.action.edit">Edit</Translate>
-                        </span>
-                      </Button>
-                      <Button
-                        onClick={() => (window.location.href = `/user-group/${userGroup.id}/delete`)}
-                        color="danger"
-                        size="sm"
-                        data-cy="entityDeleteButton"
-                      >
-                        <FontAwesomeIcon icon="trash" />{' '}
-                        <span className="d-none d-md-inline">
-                          <Translate contentKey="entity.action.delete">Delete</Translate>
-                        </span>
-                      </Button>
-                    </div>
-                  </td>
+        <InfiniteScroll
+          dataLength={userGroupList ? userGroupList.length : 0}
+          next={handleLoadMore}
+          hasMore={!!links.next}
+          loader={<div className="loader">Loading ...</div>}
+        >
+          {userGroupList && userGroupList.length > 0 ? (
+            <Table responsive>
+              <thead>
+                <tr>
+                  <th className="hand" onClick={sort('id')}>
+                    <Translate contentKey="myjhappApp.userGroup.id">Id</Translate> <FontAwesomeIcon icon={getSortIconByFieldName('id')} />
+                  </th>
+                  <th className="hand" onClick={sort('name')}>
+                    <Translate contentKey="myjhappApp.userGroup.name">Name</Translate>{' '}
+                    <FontAwesomeIcon icon={getSortIconByFieldName('name')} />
+                  </th>
+                  <th>
+                    <Translate contentKey="myjhappApp.userGroup.appUser">App User</Translate> <FontAwesomeIcon icon="sort" />
+                  </th>
+                  <th />
                 </tr>
-              ))}
-            </tbody>
-          </Table>
-        ) : (
-          !loading && (
-            <div className="alert alert-warning">
-              <Translate contentKey="myjhappApp.userGroup.home.notFound">No User Groups found</Translate>
-            </div>
-          )
-        )}
+              </thead>
+              <tbody>
+                {userGroupList.map((userGroup, i) => (
+                  <tr key={`entity-${i}`} data-cy="entityTable">
+                    <td>
+                      <Button tag={Link} to={`/user-group/${userGroup.id}`} color="link" size="sm">
+                        {userGroup.id}
+                      </Button>
+                    </td>
+                    <td>{userGroup.name}</td>
+                    <td>{userGroup.appUser ? <Link to={`/app-user/${userGroup.appUser.id}`}>{userGroup.appUser.id}</Link> : ''}</td>
+                    <td className="text-end">
+                      <div className="btn-group flex-btn-group-container">
+                        <Button tag={Link} to={`/user-group/${userGroup.id}`} color="info" size="sm" data-cy="entityDetailsButton">
+                          <FontAwesomeIcon icon="eye" />{' '}
+                          <span className="d-none d-md-inline">
+                            <Translate contentKey="entity.action.view">View</Translate>
+                          </span>
+                        </Button>
+                        <Button tag={Link} to={`/user-group/${userGroup.id}/edit`} color="primary" size="sm" data-cy="entityEditButton">
+                          <FontAwesomeIcon icon="pencil-alt" />{' '}
+                          <span className="d-none d-md-inline">
+                            <Translate contentKey="entity.action.edit">Edit</Translate>
+                          </span>
+                        </Button>
+                        <Button
+                          onClick={() => (window.location.href = `/user-group/${userGroup.id}/delete`)}
+                          color="danger"
+                          size="sm"
+                          data-cy="entityDeleteButton"
+                        >
+                          <FontAwesomeIcon icon="trash" />{' '}
+                          <span className="d-none d-md-inline">
+                            <Translate contentKey="entity.action.delete">Delete</Translate>
+                          </span>
+                        </Button>
+                      </div>
+                    </td>
+                  </tr>
+                ))}
+              </tbody>
+            </Table>
+          ) : (
+            !loading && (
+              <div className="alert alert-warning">
+                <Translate contentKey="myjhappApp.userGroup.home.notFound">No User Groups found</Translate>
+              </div>
+            )
+          )}
+        </InfiniteScroll>
       </div>
     </div>
   );
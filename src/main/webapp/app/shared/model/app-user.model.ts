@@ -1,7 +1,9 @@
 import dayjs from 'dayjs';
+import { IUserGroup } from 'app/shared/model/user-group.model';
 
 export interface IAppUser {
   id?: number;
+  version?: number;
   externalUserId?: string;
   username?: string;
   firstName?: string;
@@ -9,6 +11,7 @@ export interface IAppUser {
   email?: string;
   registeredDate?: dayjs.Dayjs | null;
   lastLoginDate?: dayjs.Dayjs | null;
+  userGroups?: IUserGroup[] | null;
 }
 
 export const defaultValue: Readonly<IAppUser> = {};
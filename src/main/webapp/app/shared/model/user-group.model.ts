@@ -2,6 +2,7 @@ import { IAppUser } from 'app/shared/model/app-user.model';
 
 export interface IUserGroup {
   id?: number;
+  version?: number;
   name?: string;
   appUser?: IAppUser | null;
 }
@@ -12,7 +12,14 @@ import { AxiosError, isAxiosError } from 'axios';
 /**
  * Model for redux actions with pagination
  */
-export type IQueryParams = { query?: string; page?: number; size?: number; sort?: string };
+export type IQueryParams = {
+  query?: string;
+  page?: number;
+  size?: number;
+  sort?: string;
+  after?: string | number;
+  afterValue?: string;
+};
 
 /**
  * Useful types for working with actions
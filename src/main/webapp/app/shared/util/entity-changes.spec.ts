@@ -0,0 +1,33 @@
+import { applyEntityChange } from './entity-changes';
+
+describe('Entity changes', () => {
+  describe('applyEntityChange', () => {
+    const entities = [
+      { id: 1, version: 3 },
+      { id: 2, version: 0 },
+    ];
+
+    it('should replace an updated entity in place', () => {
+      expect(applyEntityChange(entities, { type: 'UPSERT', id: 2, entity: { id: 2, version: 1 } }, false)).toEqual([
+        { id: 1, version: 3 },
+        { id: 2, version: 1 },
+      ]);
+    });
+
+    it('should keep a listed entity which is newer than the change', () => {
+      expect(applyEntityChange(entities, { type: 'UPSERT', id: 1, entity: { id: 1, version: 2 } }, true)).toEqual(entities);
+    });
+
+    it('should only append a created entity once the last slice is listed', () => {
+      const change = { type: 'UPSERT' as const, id: 3, entity: { id: 3, version: 0 } };
+
+      expect(applyEntityChange(entities, change, false)).toEqual(entities);
+      expect(applyEntityChange(entities, change, true)).toEqual([...entities, { id: 3, version: 0 }]);
+    });
+
+    it('should remove a deleted entity', () => {
+      expect(applyEntityChange(entities, { type: 'DELETE', id: 1 }, true)).toEqual([{ id: 2, version: 0 }]);
+      expect(applyEntityChange(entities, { type: 'DELETE', id: 4 }, true)).toEqual(entities);
+    });
+  });
+});
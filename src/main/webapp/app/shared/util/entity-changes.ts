@@ -0,0 +1,79 @@
+export const ENTITY_CHANGES_URL = 'api/app-users/changes';
+
+/**
+ * A change of an entity, as pushed by the server.
+ *
+ * UPSERT sends the entity as it is now, DELETE only its id, and RESET tells that unknown entities may have been written.
+ */
+export interface IEntityChange<T> {
+  type: 'UPSERT' | 'DELETE' | 'RESET';
+  id?: number;
+  entity?: T;
+}
+
+/**
+ * Apply a change to a list of entities.
+ *
+ * An updated entity replaces its listed copy unless that copy is newer, as told by their versions. A created entity is only
+ * appended once the last slice is listed, so that it does not show up before entities which were not read yet.
+ *
+ * @param entities The listed entities.
+ * @param change The UPSERT or DELETE change.
+ * @param lastSliceListed Whether the entities which would come after the listed ones were read, if any.
+ * @returns The entities with the change applied.
+ */
+export const applyEntityChange = <T extends { id?: number; version?: number }>(
+  entities: ReadonlyArray<T>,
+  change: IEntityChange<T>,
+  lastSliceListed: boolean,
+): T[] => {
+  const index = entities.findIndex(entity => entity.id === change.id);
+  if (change.type === 'DELETE') {
+    return index < 0 ? [...entities] : entities.filter((entity, i) => i !== index);
+  }
+  if (change.type !== 'UPSERT' || !change.entity) {
+    return [...entities];
+  }
+  if (index < 0) {
+    return lastSliceListed ? [...entities, change.entity] : [...entities];
+  }
+  if ((entities[index].version ?? -1) > (change.entity.version ?? -1)) {
+    return [...entities];
+  }
+  return entities.map((entity, i) => (i === index ? change.entity : entity));
+};
+
+/**
+ * Listen to the changes of the entities pushed by the server.
+ *
+ * The browser reconnects on its own after an error, but the changes sent meanwhile are missed: like the RESET changes, the
+ * reconnections are told to the reset listener, which reads the entities again.
+ *
+ * @param listeners The listeners of the UPSERT and DELETE changes, by name of the changed entity.
+ * @param onReset The listener of the missed changes.
+ * @returns A function which stops listening.
+ */
+export const subscribeToEntityChanges = (
+  listeners: Record<string, (change: IEntityChange<any>) => void>,
+  onReset: () => void,
+): (() => void) => {
+  const source = new EventSource(ENTITY_CHANGES_URL);
+  let opened = false;
+  source.onopen = () => {
+    if (opened) {
+      onReset();
+    }
+    opened = true;
+  };
+  Object.entries(listeners).forEach(([name, listener]) =>
+    source.addEventListener(name, (event: MessageEvent) => {
+      const change: IEntityChange<any> = JSON.parse(event.data);
+      if (change.type === 'RESET') {
+        onReset();
+      } else {
+        listener(change);
+      }
+    }),
+  );
+  return () => source.close();
+};
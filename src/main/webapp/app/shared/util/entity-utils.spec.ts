@@ -1,4 +1,4 @@
-import { cleanEntity, mapIdList } from './entity-utils';
+import { cleanEntity, ifMatch, mapIdList, parseNextAfterValue, parseNextCursor } from './entity-utils';
 
 describe('Entity utils', () => {
   describe('cleanEntity', () => {
@@ -53,4 +53,42 @@ describe('Entity utils', () => {
       expect(mapIdList(ids)).toEqual([]);
     });
   });
+
+  describe('parseNextCursor', () => {
+    it('should return the cursor of the next link', () => {
+      const link = '<http://localhost/api/app-users?after=1042&size=20>; rel="next"';
+
+      expect(parseNextCursor(link)).toEqual('1042');
+    });
+
+    it('should return undefined without a next link', () => {
+      expect(parseNextCursor(undefined)).toBeUndefined();
+      expect(parseNextCursor('<http://localhost/api/app-users?size=20>; rel="first"')).toBeUndefined();
+    });
+  });
+
+  describe('parseNextAfterValue', () => {
+    it('should return the sort value of the cursor of the next link', () => {
+      const link = '<http://localhost/api/app-users?after=1042&afterValue=dXNlcjE&size=20&sort=username,asc>; rel="next"';
+
+      expect(parseNextAfterValue(link)).toEqual('dXNlcjE');
+      expect(parseNextCursor(link)).toEqual('1042');
+    });
+
+    it('should return undefined when the slices are sorted by id', () => {
+      expect(parseNextAfterValue('<http://localhost/api/app-users?after=1042&size=20>; rel="next"')).toBeUndefined();
+    });
+  });
+
+  describe('ifMatch', () => {
+    it('should require the version of the entity', () => {
+      expect(ifMatch(3)).toEqual({ headers: { 'If-Match': '"3"' } });
+      expect(ifMatch(0)).toEqual({ headers: { 'If-Match': '"0"' } });
+    });
+
+    it('should not require any version of an entity without version', () => {
+      expect(ifMatch(undefined)).toEqual({});
+      expect(ifMatch(null)).toEqual({});
+    });
+  });
 });
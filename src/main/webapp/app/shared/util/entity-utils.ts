@@ -22,6 +22,38 @@ export const cleanEntity = entity => {
  */
 export const mapIdList = (idList: ReadonlyArray<any>) => idList.filter((id: any) => id !== '').map((id: any) => ({ id }));
 
+const parseNextParam = (linkHeader: string | undefined, param: string): string | undefined => {
+  const next = linkHeader?.split(',').find(link => link.includes('rel="next"'));
+  const match = next ? new RegExp(`[?&]${param}=([^&>]+)`).exec(next) : null;
+  return match ? decodeURIComponent(match[1]) : undefined;
+};
+
+/**
+ * Extract the cursor of the next slice from a keyset pagination Link header.
+ *
+ * @param linkHeader The Link header sent by the server.
+ * @returns The value of the `after` parameter of the `next` link, or undefined on the last slice.
+ */
+export const parseNextCursor = (linkHeader?: string): string | undefined => parseNextParam(linkHeader, 'after');
+
+/**
+ * Extract the sort value of the cursor of the next slice from a keyset pagination Link header.
+ * It must be sent back with the cursor, so the next slice is still found once the entity of the cursor is deleted.
+ *
+ * @param linkHeader The Link header sent by the server.
+ * @returns The value of the `afterValue` parameter of the `next` link, or undefined if the slices are sorted by id.
+ */
+export const parseNextAfterValue = (linkHeader?: string): string | undefined => parseNextParam(linkHeader, 'afterValue');
+
+/**
+ * Build the request config of an update which must fail if the entity was modified since it was read.
+ *
+ * @param version The version of the entity when it was read, which is its ETag without the embedded entities.
+ * @returns The If-Match header of the version, or no header if the entity has none.
+ */
+export const ifMatch = (version?: number | null) =>
+  version === undefined || version === null ? {} : { headers: { 'If-Match': `"${version}"` } };
+
 export const overrideSortStateWithQueryParams = (paginationBaseState: ISortBaseState, locationSearch: string) => {
   const params = new URLSearchParams(locationSearch);
   const sort = params.get('sort');
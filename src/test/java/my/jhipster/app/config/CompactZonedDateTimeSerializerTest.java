@@ -0,0 +1,95 @@
+package my.jhipster.app.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.TimeZone;
+import org.junit.jupiter.api.Test;
+
+class CompactZonedDateTimeSerializerTest {
+
+    private final ObjectMapper standardMapper = mapper(new JavaTimeModule());
+
+    private final ObjectMapper compactMapper = mapper(new JacksonConfiguration().javaTimeModule());
+
+    @Test
+    void writesLikeTheStandardSerializer() throws Exception {
+        List<ZonedDateTime> dates = List.of(
+            ZonedDateTime.of(2024, 5, 17, 8, 30, 12, 0, ZoneOffset.UTC),
+            ZonedDateTime.of(2024, 5, 17, 8, 30, 0, 500_000_000, ZoneOffset.UTC),
+            ZonedDateTime.of(1, 1, 1, 0, 0, 0, 1, ZoneOffset.ofHours(-18)),
+            ZonedDateTime.of(9999, 12, 31, 23, 59, 59, 999_999_999, ZoneOffset.ofHoursMinutesSeconds(18, 0, 0)),
+            ZonedDateTime.of(1950, 6, 1, 12, 0, 0, 120_000, ZoneOffset.ofHoursMinutesSeconds(5, 30, 15)),
+            ZonedDateTime.of(1900, 1, 1, 0, 0, 0, 0, ZoneOffset.ofHoursMinutesSeconds(-3, -20, -5)),
+            ZonedDateTime.of(LocalDateTime.of(2024, 10, 27, 2, 30), ZoneId.of("Europe/Paris"))
+        );
+        for (ZonedDateTime date : dates) {
+            assertThat(compactMapper.writeValueAsString(date)).isEqualTo(standardMapper.writeValueAsString(date));
+        }
+    }
+
+    @Test
+    void writesRandomDatesLikeTheStandardSerializer() throws Exception {
+        Random random = new Random(42);
+        List<ZoneId> zones = List.of(
+            ZoneOffset.UTC,
+            ZoneId.of("America/St_Johns"),
+            ZoneId.of("Asia/Kathmandu"),
+            ZoneId.of("Africa/Monrovia")
+        );
+        for (int i = 0; i < 10_000; i++) {
+            Instant instant = Instant.ofEpochSecond(random.nextLong(-62_000_000_000L, 253_000_000_000L), random.nextInt(1_000_000_000));
+            ZonedDateTime date = instant.atZone(zones.get(random.nextInt(zones.size())));
+            assertThat(compactMapper.writeValueAsString(date)).isEqualTo(standardMapper.writeValueAsString(date));
+        }
+    }
+
+    @Test
+    void writesTheYearsBeyondFourDigitsLikeTheStandardSerializer() throws Exception {
+        ZonedDateTime date = ZonedDateTime.of(10_000, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        assertThat(compactMapper.writeValueAsString(date)).isEqualTo(standardMapper.writeValueAsString(date)).contains("+10000");
+        ZonedDateTime negativeDate = ZonedDateTime.of(-1, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        assertThat(compactMapper.writeValueAsString(negativeDate)).isEqualTo(standardMapper.writeValueAsString(negativeDate));
+    }
+
+    @Test
+    void writesInTheTimeZoneOfTheMapperLikeTheStandardSerializer() throws Exception {
+        TimeZone timeZone = TimeZone.getTimeZone("Asia/Tokyo");
+        ZonedDateTime date = ZonedDateTime.of(2024, 5, 17, 8, 30, 12, 0, ZoneOffset.UTC);
+        assertThat(compactMapper.copy().setTimeZone(timeZone).writeValueAsString(date))
+            .isEqualTo(standardMapper.copy().setTimeZone(timeZone).writeValueAsString(date))
+            .isEqualTo("\"2024-05-17T17:30:12+09:00\"");
+    }
+
+    @Test
+    void staysCompactOnceContextualized() throws Exception {
+        // Each property gets a serializer contextualized with its format
+        assertThat(compactMapper.getSerializerProviderInstance().findValueSerializer(ZonedDateTime.class, null)).isInstanceOf(
+            CompactZonedDateTimeSerializer.class
+        );
+    }
+
+    @Test
+    void writesThePropertiesWithAPatternLikeTheStandardSerializer() throws Exception {
+        WithPattern value = new WithPattern(ZonedDateTime.of(2024, 5, 17, 8, 30, 12, 0, ZoneOffset.UTC));
+        assertThat(compactMapper.writeValueAsString(value))
+            .isEqualTo(standardMapper.writeValueAsString(value))
+            .isEqualTo("{\"date\":\"17/05/2024\"}");
+    }
+
+    private record WithPattern(@JsonFormat(pattern = "dd/MM/yyyy") ZonedDateTime date) {}
+
+    private static ObjectMapper mapper(JavaTimeModule javaTimeModule) {
+        return new ObjectMapper().registerModule(javaTimeModule).disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+}
@@ -0,0 +1,107 @@
+package my.jhipster.app.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import my.jhipster.app.domain.AppUser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Encodes and decodes a list of 10,000 app users in each of the formats the API negotiates, with the modules of
+ * {@link JacksonConfiguration}. The size of each payload is printed once, before the measurements.
+ * <p>
+ * Not a test: run it after {@code ./mvnw test-compile dependency:build-classpath -Dmdep.outputFile=target/classpath.txt} with
+ * <pre>
+ * java -cp target/test-classes:target/classes:$(cat target/classpath.txt) org.openjdk.jmh.Main JacksonFormatsBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JacksonFormatsBenchmark {
+
+    private static final int APP_USER_COUNT = 10_000;
+
+    @Param({ "json", "cbor", "smile" })
+    private String format;
+
+    private List<AppUser> appUsers;
+
+    private ObjectWriter writer;
+
+    private ObjectReader reader;
+
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        appUsers = new ArrayList<>(APP_USER_COUNT);
+        ZonedDateTime registeredDate = ZonedDateTime.of(2020, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        for (int i = 0; i < APP_USER_COUNT; i++) {
+            appUsers.add(
+                new AppUser()
+                    .id((long) i)
+                    .externalUserId("00u" + Integer.toHexString(i * 7919) + "x5d7")
+                    .username("user" + i)
+                    .firstName("First" + i)
+                    .lastName("Last" + i)
+                    .email("user" + i + "@example.com")
+                    .registeredDate(registeredDate.plusMinutes(i * 37L))
+                    .lastLoginDate(registeredDate.plusSeconds(i * 86_413L).plusNanos(i * 1_000_000L))
+            );
+        }
+        JsonFactory factory =
+            switch (format) {
+                case "cbor" -> new CBORFactory();
+                case "smile" -> new SmileFactory();
+                default -> new JsonFactory();
+            };
+        JacksonConfiguration configuration = new JacksonConfiguration();
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+            .factory(factory)
+            .modules(configuration.javaTimeModule(), configuration.jdk8TimeModule(), configuration.blackbirdModule())
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+        JavaType appUserListType = mapper.getTypeFactory().constructCollectionType(List.class, AppUser.class);
+        writer = mapper.writerFor(appUserListType);
+        reader = mapper.readerFor(appUserListType);
+        payload = writer.writeValueAsBytes(appUsers);
+        System.out.printf("%n%s payload of %,d app users: %,d bytes%n", format, APP_USER_COUNT, payload.length);
+    }
+
+    @Benchmark
+    public void encode() throws IOException {
+        writer.writeValue(OutputStream.nullOutputStream(), appUsers);
+    }
+
+    @Benchmark
+    public List<AppUser> decode() throws IOException {
+        return reader.readValue(payload);
+    }
+}
@@ -0,0 +1,119 @@
+package my.jhipster.app.config;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import my.jhipster.app.domain.AppUser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Serializes a list of 10,000 app users as the responses of the API do, with the modules of {@link JacksonConfiguration}
+ * one at a time, then all together with a writer built beforehand.
+ * <p>
+ * Not a test: run it after {@code ./mvnw test-compile dependency:build-classpath -Dmdep.outputFile=target/classpath.txt} with
+ * <pre>
+ * java -cp target/test-classes:target/classes:$(cat target/classpath.txt) org.openjdk.jmh.Main JacksonSerializationBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JacksonSerializationBenchmark {
+
+    private static final int APP_USER_COUNT = 10_000;
+
+    private List<AppUser> appUsers;
+
+    private JavaType appUserListType;
+
+    private ObjectMapper standardMapper;
+
+    private ObjectMapper compactDatesMapper;
+
+    private ObjectMapper blackbirdMapper;
+
+    private ObjectWriter appUserListWriter;
+
+    @Setup
+    public void setUp() {
+        appUsers = new ArrayList<>(APP_USER_COUNT);
+        ZonedDateTime registeredDate = ZonedDateTime.of(2020, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        for (int i = 0; i < APP_USER_COUNT; i++) {
+            appUsers.add(
+                new AppUser()
+                    .id((long) i)
+                    .externalUserId("00u" + Integer.toHexString(i * 7919) + "x5d7")
+                    .username("user" + i)
+                    .firstName("First" + i)
+                    .lastName("Last" + i)
+                    .email("user" + i + "@example.com")
+                    .registeredDate(registeredDate.plusMinutes(i * 37L))
+                    .lastLoginDate(registeredDate.plusSeconds(i * 86_413L).plusNanos(i * 1_000_000L))
+            );
+        }
+        JacksonConfiguration configuration = new JacksonConfiguration();
+        standardMapper = mapper(new JavaTimeModule(), configuration.jdk8TimeModule());
+        compactDatesMapper = mapper(configuration.javaTimeModule(), configuration.jdk8TimeModule());
+        blackbirdMapper = mapper(new JavaTimeModule(), configuration.jdk8TimeModule(), configuration.blackbirdModule());
+        ObjectMapper applicationMapper = mapper(
+            configuration.javaTimeModule(),
+            configuration.jdk8TimeModule(),
+            configuration.blackbirdModule()
+        );
+        appUserListType = standardMapper.getTypeFactory().constructCollectionType(List.class, AppUser.class);
+        appUserListWriter = applicationMapper.writerFor(appUserListType);
+    }
+
+    @Benchmark
+    public void standard() throws IOException {
+        // As the message converter does, for each response
+        standardMapper.writer().forType(appUserListType).writeValue(OutputStream.nullOutputStream(), appUsers);
+    }
+
+    @Benchmark
+    public void compactDates() throws IOException {
+        compactDatesMapper.writer().forType(appUserListType).writeValue(OutputStream.nullOutputStream(), appUsers);
+    }
+
+    @Benchmark
+    public void blackbird() throws IOException {
+        blackbirdMapper.writer().forType(appUserListType).writeValue(OutputStream.nullOutputStream(), appUsers);
+    }
+
+    @Benchmark
+    public void application() throws IOException {
+        appUserListWriter.writeValue(OutputStream.nullOutputStream(), appUsers);
+    }
+
+    private static ObjectMapper mapper(Module... modules) {
+        return Jackson2ObjectMapperBuilder.json()
+            .modules(modules)
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    }
+}
@@ -0,0 +1,117 @@
+package my.jhipster.app.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.mongodb.client.ListIndexesIterable;
+import com.mongodb.client.MongoCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import my.jhipster.app.config.dbmigrations.DeclaredIndexes;
+import my.jhipster.app.config.dbmigrations.DeclaredIndexes.DeclaredIndex;
+import my.jhipster.app.domain.AppUser;
+import my.jhipster.app.domain.UserGroup;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+class MongoIndexesHealthIndicatorTest {
+
+    private final Map<String, List<Document>> indexes = new HashMap<>();
+
+    private MongoIndexesHealthIndicator healthIndicator;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        MongoTemplate template = mock(MongoTemplate.class);
+        when(template.getCollectionName(AppUser.class)).thenReturn("app_user");
+        when(template.getCollectionName(UserGroup.class)).thenReturn("user_group");
+        when(template.getCollection(anyString())).thenAnswer(invocation -> {
+            List<Document> collectionIndexes = indexes.getOrDefault(invocation.<String>getArgument(0), List.of());
+            ListIndexesIterable<Document> listIndexes = mock(ListIndexesIterable.class);
+            when(listIndexes.into(any())).thenAnswer(into -> {
+                Collection<Document> target = into.getArgument(0);
+                target.addAll(collectionIndexes);
+                return target;
+            });
+            MongoCollection<Document> collection = mock(MongoCollection.class);
+            when(collection.listIndexes()).thenReturn(listIndexes);
+            return collection;
+        });
+        for (DeclaredIndex declaredIndex : DeclaredIndexes.ALL) {
+            String collectionName = declaredIndex.entityClass().equals(AppUser.class) ? "app_user" : "user_group";
+            indexes.computeIfAbsent(collectionName, name -> new ArrayList<>()).add(toIndexDocument(declaredIndex));
+        }
+        healthIndicator = new MongoIndexesHealthIndicator(template);
+    }
+
+    @Test
+    void declaredIndexesAreUp() {
+        assertThat(healthIndicator.health().getStatus()).isEqualTo(Status.UP);
+    }
+
+    @Test
+    void missingIndexIsDown() {
+        indexes.get("app_user").removeIf(index -> DeclaredIndexes.APP_USER_USERNAME.name().equals(index.getString("name")));
+
+        Health health = healthIndicator.health();
+
+        assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+        assertThat(health.getDetails()).containsEntry("app_user." + DeclaredIndexes.APP_USER_USERNAME.name(), "missing");
+    }
+
+    @Test
+    void indexWithoutCollationIsDown() {
+        indexes.get("app_user").forEach(index -> {
+            if (DeclaredIndexes.APP_USER_EMAIL.name().equals(index.getString("name"))) {
+                index.remove("collation");
+            }
+        });
+
+        Health health = healthIndicator.health();
+
+        assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+        assertThat(health.getDetails()).containsOnlyKeys("app_user." + DeclaredIndexes.APP_USER_EMAIL.name());
+    }
+
+    @Test
+    void fixedIndexesGetUp() {
+        List<Document> appUserIndexes = indexes.get("app_user");
+        Document uniqueIndex = appUserIndexes.stream()
+            .filter(index -> DeclaredIndexes.APP_USER_EXTERNAL_USER_ID.name().equals(index.getString("name")))
+            .findFirst()
+            .orElseThrow();
+        uniqueIndex.remove("unique");
+        assertThat(healthIndicator.health().getStatus()).isEqualTo(Status.DOWN);
+
+        uniqueIndex.put("unique", true);
+
+        assertThat(healthIndicator.health().getStatus()).isEqualTo(Status.UP);
+    }
+
+    /**
+     * @return the index as listed by the server, which tells the directions as doubles.
+     */
+    private static Document toIndexDocument(DeclaredIndex declaredIndex) {
+        Document keys = new Document();
+        declaredIndex.keys().forEach((field, direction) -> keys.append(field, ((Number) direction).doubleValue()));
+        Document index = new Document("v", 2).append("key", keys).append("name", declaredIndex.name());
+        if (declaredIndex.unique()) {
+            index.append("unique", true);
+        }
+        if (declaredIndex.collation() != null) {
+            index.append("collation", Document.parse(declaredIndex.collation().asDocument().toJson()));
+        }
+        return index;
+    }
+}
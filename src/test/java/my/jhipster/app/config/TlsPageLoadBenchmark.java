@@ -0,0 +1,300 @@
+package my.jhipster.app.config;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.Filter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSession;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.TrustManagerFactory;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.boot.web.embedded.undertow.UndertowServletWebServerFactory;
+import org.springframework.boot.web.server.Ssl;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerInitializedEvent;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ClassPathResource;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Loads a page like the client of the application, an {@code index.html} and its scripts, then measures the cost of the TLS
+ * handshakes, against a server serving HTTPS with the self-signed certificate of {@code config/tls}: first as it did before the
+ * {@code tls} profile enabled HTTP/2 and TLS 1.3, then as the {@link WebConfigurer} configures it with that profile.
+ * <p>
+ * Each request waits a simulated network latency on the server, so the load time mostly tells how many requests the page sends
+ * at once: like a browser, the client opens at most six HTTP/1.1 connections, and sends all the requests on one HTTP/2
+ * connection. Every page load starts with a new client, so its handshakes are counted.
+ * <p>
+ * Not a test: run it after {@code ./mvnw test-compile dependency:build-classpath -Dmdep.outputFile=target/classpath.txt} with
+ * <pre>
+ * java -cp target/test-classes:target/classes:$(cat target/classpath.txt) my.jhipster.app.config.TlsPageLoadBenchmark [latency in ms]
+ * </pre>
+ */
+public final class TlsPageLoadBenchmark {
+
+    private static final int ASSET_COUNT = 30;
+
+    private static final int ASSET_SIZE = 32 * 1024;
+
+    private static final int BROWSER_CONNECTIONS_PER_HOST = 6;
+
+    private static final int PAGE_LOADS = 20;
+
+    private static final int HANDSHAKES = 200;
+
+    private static final byte[] HANDSHAKE_REQUEST = "GET /index.html HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n".getBytes(
+        StandardCharsets.US_ASCII
+    );
+
+    private static final ExecutorService CLIENT_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "page-load-client");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private TlsPageLoadBenchmark() {}
+
+    public static void main(String[] args) throws Exception {
+        // The self-signed certificate is trusted, but issued for no host name
+        System.setProperty("jdk.internal.httpclient.disableHostnameVerification", "true");
+        long latencyMillis = args.length > 0 ? Long.parseLong(args[0]) : 20;
+        Path documentRoot = createDocumentRoot();
+        SSLContext clientContext = trustingClientContext();
+
+        StandardEnvironment before = tlsEnvironment();
+        before
+            .getPropertySources()
+            .addFirst(
+                new MapPropertySource(
+                    "before",
+                    Map.of(
+                        "server.ssl.enabled-protocols",
+                        "TLSv1.2",
+                        "server.ssl.ciphers",
+                        "TLS_ECDHE_RSA_WITH_AES_128_GCM_SHA256, TLS_ECDHE_RSA_WITH_AES_256_GCM_SHA384, TLS_ECDHE_RSA_WITH_AES_128_CBC_SHA"
+                    )
+                )
+            );
+        run("HTTP/1.1, TLS 1.2, without the tls profile", before, false, documentRoot, clientContext, latencyMillis);
+
+        StandardEnvironment after = tlsEnvironment();
+        after.setActiveProfiles("tls");
+        run("with the tls profile", after, true, documentRoot, clientContext, latencyMillis);
+    }
+
+    private static void run(
+        String name,
+        StandardEnvironment env,
+        boolean customized,
+        Path documentRoot,
+        SSLContext clientContext,
+        long latencyMillis
+    ) throws Exception {
+        Binder binder = Binder.get(env);
+        ApplicationProperties applicationProperties = binder.bindOrCreate("application", ApplicationProperties.class);
+        WebConfigurer webConfigurer = new WebConfigurer(env, new JHipsterProperties(), applicationProperties);
+
+        UndertowServletWebServerFactory factory = new UndertowServletWebServerFactory(0);
+        factory.setSsl(binder.bind("server.ssl", Ssl.class).get());
+        // The simulated latency must not be limited by the worker threads
+        factory.setWorkerThreads(4 * ASSET_COUNT);
+        if (customized) {
+            webConfigurer.customize(factory);
+        }
+        factory.setDocumentRoot(documentRoot.toFile());
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+        Filter latency = (request, response, chain) -> {
+            clientPorts.add(request.getRemotePort());
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                TimeUnit.MILLISECONDS.sleep(latencyMillis);
+                chain.doFilter(request, response);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        };
+        factory.addInitializers(servletContext ->
+            servletContext.addFilter("latency", latency).addMappingForUrlPatterns(EnumSet.of(DispatcherType.REQUEST), false, "/*")
+        );
+        WebServer webServer = factory.getWebServer();
+        webServer.start();
+        try {
+            if (customized) {
+                webConfigurer.onWebServerInitialized(new ServletWebServerInitializedEvent(webServer, null));
+            }
+            int port = webServer.getPort();
+            System.out.printf("%n%s%n", name);
+
+            List<Long> loadTimes = new ArrayList<>();
+            HttpClient.Version version = null;
+            for (int i = 0; i < PAGE_LOADS; i++) {
+                clientPorts.clear();
+                maxInFlight.set(0);
+                long start = System.nanoTime();
+                version = loadPage(trustingClientContext(), port);
+                loadTimes.add(System.nanoTime() - start);
+            }
+            loadTimes.sort(null);
+            System.out.printf(
+                "  page load (%d assets, %d ms latency): %s, median %.1f ms, %d requests at once, %d connections%n",
+                ASSET_COUNT,
+                latencyMillis,
+                version,
+                loadTimes.get(PAGE_LOADS / 2) / 1e6,
+                maxInFlight.get(),
+                clientPorts.size()
+            );
+
+            handshakes("full handshake", port, null);
+            handshakes("resumed handshake", port, clientContext);
+        } finally {
+            webServer.stop();
+        }
+    }
+
+    /**
+     * @return the protocol the page was loaded with.
+     */
+    private static HttpClient.Version loadPage(SSLContext clientContext, int port) throws Exception {
+        // A new client, as a new visitor
+        HttpClient client = HttpClient.newBuilder()
+            .sslContext(clientContext)
+            .version(HttpClient.Version.HTTP_2)
+            .executor(CLIENT_EXECUTOR)
+            .build();
+        HttpResponse<Void> index = client.send(request(port, "/index.html"), HttpResponse.BodyHandlers.discarding());
+        HttpClient.Version version = index.version();
+        Semaphore connections = new Semaphore(version == HttpClient.Version.HTTP_2 ? ASSET_COUNT : BROWSER_CONNECTIONS_PER_HOST);
+        List<CompletableFuture<?>> assets = new ArrayList<>();
+        for (int i = 0; i < ASSET_COUNT; i++) {
+            connections.acquire();
+            assets.add(
+                client
+                    .sendAsync(request(port, "/app/chunk" + i + ".js"), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> connections.release())
+            );
+        }
+        CompletableFuture.allOf(assets.toArray(CompletableFuture[]::new)).join();
+        return version;
+    }
+
+    private static HttpRequest request(int port, String path) {
+        return HttpRequest.newBuilder(URI.create("https://localhost:" + port + path)).build();
+    }
+
+    /**
+     * Measure the handshakes, each on a new connection.
+     *
+     * @param sharedContext the client context to resume the sessions of, or {@code null} for a new one for each handshake.
+     */
+    private static void handshakes(String name, int port, SSLContext sharedContext) throws Exception {
+        long total = 0;
+        int resumed = 0;
+        SSLSession previous = null;
+        for (int i = -HANDSHAKES / 10; i < HANDSHAKES; i++) {
+            SSLContext context = sharedContext != null ? sharedContext : trustingClientContext();
+            try (SSLSocket socket = (SSLSocket) context.getSocketFactory().createSocket()) {
+                // As browsers do, not to wait for the acknowledgment of the previous handshake message
+                socket.setTcpNoDelay(true);
+                socket.connect(new InetSocketAddress("localhost", port));
+                long start = System.nanoTime();
+                socket.startHandshake();
+                long elapsed = System.nanoTime() - start;
+                // TLS 1.3 sends the session ticket after the handshake, with the first response
+                socket.getOutputStream().write(HANDSHAKE_REQUEST);
+                socket.getInputStream().transferTo(OutputStream.nullOutputStream());
+                SSLSession session = socket.getSession();
+                // The first iterations warm up
+                if (i >= 0) {
+                    total += elapsed;
+                    if (previous != null && session.getCreationTime() == previous.getCreationTime()) {
+                        resumed++;
+                    }
+                }
+                previous = session;
+                if (i == HANDSHAKES - 1) {
+                    System.out.printf(
+                        "  %s (%s, %s): %.2f ms on average, %d of %d resumed%n",
+                        name,
+                        session.getProtocol(),
+                        session.getCipherSuite(),
+                        total / 1e6 / HANDSHAKES,
+                        resumed,
+                        HANDSHAKES
+                    );
+                }
+            }
+        }
+    }
+
+    private static StandardEnvironment tlsEnvironment() throws IOException {
+        StandardEnvironment env = new StandardEnvironment();
+        new YamlPropertySourceLoader()
+            .load("application-tls", new ClassPathResource("config/application-tls.yml"))
+            .forEach(env.getPropertySources()::addLast);
+        return env;
+    }
+
+    /**
+     * @return a client context trusting the self-signed certificate.
+     */
+    private static SSLContext trustingClientContext() throws Exception {
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        try (InputStream in = new ClassPathResource("config/tls/keystore.p12").getInputStream()) {
+            keyStore.load(in, "password".toCharArray());
+        }
+        TrustManagerFactory trustManagers = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        trustManagers.init(keyStore);
+        SSLContext context = SSLContext.getInstance("TLS");
+        context.init(null, trustManagers.getTrustManagers(), null);
+        return context;
+    }
+
+    /**
+     * An {@code index.html} referencing its scripts, as the client build writes it.
+     */
+    private static Path createDocumentRoot() throws IOException {
+        Path root = Files.createTempDirectory("tls-page-load");
+        Files.createDirectories(root.resolve("app"));
+        StringBuilder index = new StringBuilder("<!doctype html><html><head></head><body>");
+        byte[] asset = new byte[ASSET_SIZE];
+        Arrays.fill(asset, (byte) 'x');
+        for (int i = 0; i < ASSET_COUNT; i++) {
+            Files.write(root.resolve("app/chunk" + i + ".js"), asset);
+            index.append("<script defer src=\"/app/chunk").append(i).append(".js\"></script>");
+        }
+        Files.writeString(root.resolve("index.html"), index.append("</body></html>").toString());
+        root.toFile().deleteOnExit();
+        return root;
+    }
+}
@@ -45,7 +45,7 @@ class WebConfigurerTest {
         env = new MockEnvironment();
         props = new JHipsterProperties();
 
-        webConfigurer = new WebConfigurer(env, props);
+        webConfigurer = new WebConfigurer(env, props, new ApplicationProperties());
     }
 
     @Test
@@ -61,6 +61,22 @@ class WebConfigurerTest {
         }
     }
 
+    @Test
+    void shouldEnableHttp2WithTlsProfile() {
+        env.setActiveProfiles(JHipsterConstants.SPRING_PROFILE_PRODUCTION, "tls");
+        UndertowServletWebServerFactory container = new UndertowServletWebServerFactory();
+        webConfigurer.customize(container);
+        assertThat(container.getBuilderCustomizers()).hasSize(1);
+    }
+
+    @Test
+    void shouldNotEnableHttp2WithoutTlsProfile() {
+        env.setActiveProfiles(JHipsterConstants.SPRING_PROFILE_PRODUCTION);
+        UndertowServletWebServerFactory container = new UndertowServletWebServerFactory();
+        webConfigurer.customize(container);
+        assertThat(container.getBuilderCustomizers()).isEmpty();
+    }
+
     @Test
     void shouldCorsFilterOnApiPath() throws Exception {
         props.getCors().setAllowedOrigins(Collections.singletonList("other.domain.com"));
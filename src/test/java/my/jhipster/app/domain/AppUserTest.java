@@ -6,6 +6,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import my.jhipster.app.web.rest.TestUtil;
 import org.junit.jupiter.api.Test;
 
@@ -46,4 +47,61 @@ class AppUserTest {
         assertThat(appUser.getUserGroups()).doesNotContain(userGroupBack);
         assertThat(userGroupBack.getAppUser()).isNull();
     }
+
+    @Test
+    void userGroupEqualityTest() {
+        AppUser appUser = getAppUserRandomSampleGenerator();
+        UserGroup userGroup = getUserGroupSample1();
+
+        // Another instance with the same id is the same user group
+        appUser.addUserGroup(userGroup);
+        appUser.addUserGroup(getUserGroupSample1());
+        assertThat(appUser.getUserGroups()).hasSize(1).contains(getUserGroupSample1());
+
+        // User groups without id are only equal to themselves
+        UserGroup newUserGroup = new UserGroup();
+        appUser.addUserGroup(newUserGroup).addUserGroup(new UserGroup());
+        assertThat(appUser.getUserGroups()).hasSize(3).contains(newUserGroup).doesNotContain(new UserGroup());
+
+        // Until they are given an id
+        newUserGroup.setId(getUserGroupSample2().getId());
+        assertThat(appUser.getUserGroups()).contains(getUserGroupSample2());
+        appUser.removeUserGroup(getUserGroupSample2());
+        assertThat(appUser.getUserGroups()).hasSize(2).doesNotContain(newUserGroup);
+
+        appUser.getUserGroups().removeIf(group -> group.getId() == null);
+        assertThat(appUser.getUserGroups()).containsOnly(userGroup);
+    }
+
+    @Test
+    void manyUserGroupsTest() {
+        // All the user groups have the same hash code: a HashSet would compare each one with all the others, in a single bucket
+        int count = 2_000;
+        AtomicLong comparisons = new AtomicLong();
+        AppUser appUser = getAppUserRandomSampleGenerator();
+        for (long id = 0; id < count; id++) {
+            appUser.addUserGroup(comparedUserGroup(id, comparisons));
+        }
+        for (long id = 0; id < count; id++) {
+            assertThat(appUser.getUserGroups().contains(comparedUserGroup(id, comparisons))).isTrue();
+        }
+        for (long id = 0; id < count; id += 2) {
+            appUser.removeUserGroup(comparedUserGroup(id, comparisons));
+        }
+
+        assertThat(appUser.getUserGroups()).hasSize(count / 2);
+        // The user groups are found by id
+        assertThat(comparisons).hasValue(0);
+    }
+
+    private static UserGroup comparedUserGroup(long id, AtomicLong comparisons) {
+        UserGroup userGroup = new UserGroup() {
+            @Override
+            public boolean equals(Object o) {
+                comparisons.incrementAndGet();
+                return super.equals(o);
+            }
+        };
+        return userGroup.id(id);
+    }
 }
@@ -0,0 +1,77 @@
+package my.jhipster.app.domain;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Fills a set with user groups, then looks each of them up, in the set of {@link AppUser#getUserGroups()} and in a
+ * {@link HashSet}, in which all the user groups share the same bucket as their hash code is the same.
+ * <p>
+ * Not a test: run it after {@code ./mvnw test-compile dependency:build-classpath -Dmdep.outputFile=target/classpath.txt} with
+ * <pre>
+ * java -cp target/test-classes:target/classes:$(cat target/classpath.txt) org.openjdk.jmh.Main UserGroupSetBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+public class UserGroupSetBenchmark {
+
+    @Param({ "10000", "20000" })
+    private int count;
+
+    @Param({ "userGroupSet", "hashSet" })
+    private String set;
+
+    private UserGroup[] userGroups;
+
+    private UserGroup[] probes;
+
+    private Set<UserGroup> filled;
+
+    @Setup
+    public void setUp() {
+        userGroups = new UserGroup[count];
+        probes = new UserGroup[count];
+        for (int i = 0; i < count; i++) {
+            userGroups[i] = new UserGroup().id((long) i);
+            probes[i] = new UserGroup().id((long) i);
+        }
+        filled = add();
+    }
+
+    @Benchmark
+    public Set<UserGroup> add() {
+        Set<UserGroup> userGroupSet = "hashSet".equals(set) ? new HashSet<>() : new AppUser().getUserGroups();
+        for (UserGroup userGroup : userGroups) {
+            userGroupSet.add(userGroup);
+        }
+        return userGroupSet;
+    }
+
+    @Benchmark
+    public int contains() {
+        int found = 0;
+        for (UserGroup probe : probes) {
+            if (filled.contains(probe)) {
+                found++;
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,119 @@
+package my.jhipster.app.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Optional;
+import my.jhipster.app.config.ApplicationProperties;
+import my.jhipster.app.domain.AppUser;
+import my.jhipster.app.repository.AppUserAvailability.Key;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+class AppUserAvailabilityTest {
+
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    private AppUserRepository appUserRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private AppUserAvailability appUserAvailability;
+
+    @BeforeEach
+    void setUp() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.getCollectionName(AppUser.class)).thenReturn("app_user");
+        when(mongoTemplate.stream(any(Query.class), eq(Document.class), eq("app_user"))).thenAnswer(invocation ->
+            List.of(new Document("username", "taken").append("email", "Taken@Localhost").append("external_user_id", "sub")).stream()
+        );
+        appUserRepository = mock(AppUserRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        appUserAvailability = new AppUserAvailability(mongoTemplate, appUserRepository, new ApplicationProperties(), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        appUserAvailability.destroy();
+    }
+
+    @Test
+    void availableKeyIsAnsweredByTheFilter() {
+        appUserAvailability.build();
+
+        assertThat(appUserAvailability.isAvailable(Key.USERNAME, "free")).isTrue();
+
+        verify(appUserRepository, never()).existsByUsername(anyString());
+        assertThat(checks(Key.USERNAME, "filtered")).isEqualTo(1);
+        assertThat(meterRegistry.get(AppUserAvailability.SIZE_METRIC).tag("key", "username").gauge().value()).isPositive();
+    }
+
+    @Test
+    void takenKeyIsLookedUp() {
+        when(appUserRepository.existsByEmailIgnoreCase("taken@localhost")).thenReturn(true);
+        appUserAvailability.build();
+
+        assertThat(appUserAvailability.isAvailable(Key.EMAIL, "taken@localhost")).isFalse();
+
+        assertThat(checks(Key.EMAIL, "taken")).isEqualTo(1);
+    }
+
+    @Test
+    void keyReleasedSinceTheBuildIsAFalsePositive() {
+        appUserAvailability.build();
+
+        assertThat(appUserAvailability.isAvailable(Key.EXTERNAL_USER_ID, "sub")).isTrue();
+
+        assertThat(checks(Key.EXTERNAL_USER_ID, "false_positive")).isEqualTo(1);
+    }
+
+    @Test
+    void keysAreLookedUpUntilTheFiltersAreBuilt() {
+        assertThat(appUserAvailability.isAvailable(Key.USERNAME, "free")).isTrue();
+
+        verify(appUserRepository).existsByUsername("free");
+        assertThat(checks(Key.USERNAME, "unfiltered")).isEqualTo(1);
+        assertThat(meterRegistry.get(AppUserAvailability.FALSE_POSITIVE_PROBABILITY_METRIC).tag("key", "username").gauge().value()).isNaN();
+    }
+
+    @Test
+    void nonAsciiEmailIsLookedUp() {
+        appUserAvailability.build();
+
+        appUserAvailability.isAvailable(Key.EMAIL, "straße@localhost");
+
+        verify(appUserRepository).existsByEmailIgnoreCase("straße@localhost");
+    }
+
+    @Test
+    void writtenAppUserKeysAreAdded() throws InterruptedException {
+        appUserAvailability.build();
+        when(appUserRepository.findById(1L)).thenReturn(
+            Optional.of(new AppUser().id(1L).externalUserId("new").username("new").email("new@localhost"))
+        );
+
+        appUserAvailability.onEntityChanged(new EntityChangedEvent(AppUser.class, List.of(1L)));
+
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (appUserAvailability.isAvailable(Key.USERNAME, "new") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(checks(Key.USERNAME, "false_positive")).isPositive();
+    }
+
+    private double checks(Key key, String result) {
+        return meterRegistry.get(AppUserAvailability.CHECKS_METRIC).tags("key", key.getProperty(), "result", result).counter().count();
+    }
+}
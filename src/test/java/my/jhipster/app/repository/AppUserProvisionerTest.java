@@ -0,0 +1,182 @@
+package my.jhipster.app.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import my.jhipster.app.config.ApplicationProperties;
+import my.jhipster.app.domain.AppUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+class AppUserProvisionerTest {
+
+    private AppUserRepository appUserRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private AppUserProvisioner appUserProvisioner;
+
+    private final List<List<AppUser>> flushes = new ArrayList<>();
+
+    private final Set<String> failing = new HashSet<>();
+
+    @BeforeEach
+    void setUp() {
+        appUserRepository = mock(AppUserRepository.class);
+        doAnswer(invocation -> {
+            flushes.add(new ArrayList<>(invocation.getArgument(0)));
+            return Set.copyOf(failing);
+        })
+            .when(appUserRepository)
+            .provision(anyList());
+        meterRegistry = new SimpleMeterRegistry();
+        appUserProvisioner = new AppUserProvisioner(appUserRepository, new ApplicationProperties(), meterRegistry);
+    }
+
+    @Test
+    void flushWritesLatestClaimsPerAppUser() {
+        appUserProvisioner.provision(appUser("a", "old@localhost"));
+        appUserProvisioner.provision(appUser("a", "a@localhost"));
+        appUserProvisioner.provision(appUser("b", "b@localhost"));
+        assertThat(meterRegistry.get(AppUserProvisioner.PENDING_METRIC).gauge().value()).isEqualTo(2);
+
+        appUserProvisioner.flush();
+
+        assertThat(flushes).hasSize(1);
+        assertThat(flushes.get(0))
+            .extracting(AppUser::getExternalUserId, AppUser::getEmail)
+            .containsExactlyInAnyOrder(tuple("a", "a@localhost"), tuple("b", "b@localhost"));
+        assertThat(meterRegistry.get(AppUserProvisioner.PENDING_METRIC).gauge().value()).isZero();
+    }
+
+    @Test
+    void provisionedAppUserIsNotWrittenAgain() {
+        appUserProvisioner.provision(appUser("a", "a@localhost"));
+        appUserProvisioner.flush();
+
+        appUserProvisioner.provision(appUser("a", "a@localhost"));
+        appUserProvisioner.flush();
+
+        assertThat(flushes).hasSize(1);
+        assertThat(meterRegistry.get("cache.gets").tags("result", "hit").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void changedClaimsAreWrittenAgain() {
+        appUserProvisioner.provision(appUser("a", "a@localhost"));
+        appUserProvisioner.flush();
+
+        appUserProvisioner.provision(appUser("a", "new@localhost"));
+        appUserProvisioner.flush();
+
+        assertThat(flushes).hasSize(2);
+        assertThat(flushes.get(1)).extracting(AppUser::getEmail).containsExactly("new@localhost");
+    }
+
+    @Test
+    void failedAppUserIsNotRetriedBeforeBackoff() {
+        failing.add("a");
+        appUserProvisioner.provision(appUser("a", "a@localhost"));
+        appUserProvisioner.flush();
+        appUserProvisioner.flush();
+        assertThat(flushes).hasSize(1);
+
+        failing.clear();
+        appUserProvisioner.provision(appUser("a", "a@localhost"));
+        appUserProvisioner.flush();
+
+        assertThat(flushes).hasSize(1);
+    }
+
+    @Test
+    void failedAppUserIsRetriedWithChangedClaims() {
+        failing.add("a");
+        appUserProvisioner.provision(appUser("a", "a@localhost"));
+        appUserProvisioner.flush();
+
+        failing.clear();
+        appUserProvisioner.provision(appUser("a", "new@localhost"));
+        appUserProvisioner.flush();
+
+        assertThat(flushes).hasSize(2);
+        assertThat(flushes.get(1)).extracting(AppUser::getEmail).containsExactly("new@localhost");
+    }
+
+    @Test
+    void failedAppUserIsRetriedAfterBackoff() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getProvisioning().setRetryBackoff(Duration.ZERO);
+        appUserProvisioner = new AppUserProvisioner(appUserRepository, applicationProperties, new SimpleMeterRegistry());
+        failing.add("a");
+        appUserProvisioner.provision(appUser("a", "a@localhost"));
+        appUserProvisioner.flush();
+
+        failing.clear();
+        appUserProvisioner.provision(appUser("a", "a@localhost"));
+        appUserProvisioner.flush();
+
+        assertThat(flushes).hasSize(2);
+    }
+
+    @Test
+    void appUserWithoutEmailIsNotProvisioned() {
+        appUserProvisioner.provision(appUser("a", null));
+        appUserProvisioner.provision(appUser("b", " "));
+        appUserProvisioner.flush();
+
+        verify(appUserRepository, never()).provision(anyList());
+    }
+
+    @Test
+    void failedFlushIsRetried() {
+        appUserProvisioner.provision(appUser("a", "a@localhost"));
+        doThrow(new DataAccessResourceFailureException("down")).when(appUserRepository).provision(anyList());
+        appUserProvisioner.flush();
+
+        doAnswer(invocation -> {
+            flushes.add(new ArrayList<>(invocation.getArgument(0)));
+            return Set.of();
+        })
+            .when(appUserRepository)
+            .provision(anyList());
+        appUserProvisioner.flush();
+
+        assertThat(flushes).hasSize(1);
+        assertThat(flushes.get(0)).extracting(AppUser::getExternalUserId).containsExactly("a");
+    }
+
+    @Test
+    void flushWithoutRequestWritesNothing() {
+        appUserProvisioner.flush();
+
+        verify(appUserRepository, never()).provision(anyList());
+    }
+
+    @Test
+    void stopDrainsPendingAppUsers() {
+        appUserProvisioner.start();
+        appUserProvisioner.provision(appUser("a", "a@localhost"));
+
+        appUserProvisioner.stop();
+
+        assertThat(appUserProvisioner.isRunning()).isFalse();
+        assertThat(flushes).hasSize(1);
+    }
+
+    private static AppUser appUser(String externalUserId, String email) {
+        return new AppUser().externalUserId(externalUserId).username(externalUserId).email(email);
+    }
+}
@@ -0,0 +1,50 @@
+package my.jhipster.app.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+    private static final int INSERTIONS = 10_000;
+
+    @Test
+    void containsEveryAddedString() {
+        BloomFilter bloomFilter = BloomFilter.create(INSERTIONS, 0.01);
+        for (int i = 0; i < INSERTIONS; i++) {
+            bloomFilter.put("user" + i);
+        }
+
+        for (int i = 0; i < INSERTIONS; i++) {
+            assertThat(bloomFilter.mightContain("user" + i)).isTrue();
+        }
+    }
+
+    @Test
+    void falsePositivesStayNearTheExpectedProbability() {
+        BloomFilter bloomFilter = BloomFilter.create(INSERTIONS, 0.01);
+        for (int i = 0; i < INSERTIONS; i++) {
+            bloomFilter.put("user" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < INSERTIONS; i++) {
+            if (bloomFilter.mightContain("other" + i)) {
+                falsePositives++;
+            }
+        }
+
+        assertThat((double) falsePositives / INSERTIONS).isLessThan(0.02);
+        assertThat(bloomFilter.expectedFalsePositiveProbability()).isBetween(0.005, 0.015);
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        BloomFilter bloomFilter = BloomFilter.create(INSERTIONS, 0.01);
+
+        assertThat(bloomFilter.mightContain("user")).isFalse();
+        assertThat(bloomFilter.expectedFalsePositiveProbability()).isZero();
+        // About 9.6 bits per string for a 1% false positive probability
+        assertThat(bloomFilter.sizeInBytes()).isBetween(11_900L, 12_100L);
+    }
+}
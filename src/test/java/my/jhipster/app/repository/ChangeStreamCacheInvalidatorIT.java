@@ -0,0 +1,64 @@
+package my.jhipster.app.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Updates;
+import my.jhipster.app.IntegrationTest;
+import my.jhipster.app.domain.AppUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+/**
+ * Integration tests for the {@link ChangeStreamCacheInvalidator}.
+ */
+@IntegrationTest
+class ChangeStreamCacheInvalidatorIT {
+
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private AppUser insertedAppUser;
+
+    @AfterEach
+    void cleanup() {
+        if (insertedAppUser != null) {
+            appUserRepository.deleteById(insertedAppUser.getId());
+            insertedAppUser = null;
+        }
+    }
+
+    @Test
+    void evictsAppUserWrittenByAnotherNode() throws Exception {
+        insertedAppUser = appUserRepository.save(
+            new AppUser().externalUserId("external").username("username").firstName("first").lastName("last").email("email")
+        );
+        assertThat(appUserRepository.findById(insertedAppUser.getId())).isPresent();
+        assertThat(cacheManager.getCache(AppUserRepository.APP_USERS_BY_ID_CACHE).get(insertedAppUser.getId())).isNotNull();
+
+        // Written with the driver, as another node would: no mapping event is published on this node
+        mongoTemplate
+            .getCollection(mongoTemplate.getCollectionName(AppUser.class))
+            .updateOne(Filters.eq("_id", insertedAppUser.getId()), Updates.set("username", "renamed"));
+
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (
+            cacheManager.getCache(AppUserRepository.APP_USERS_BY_ID_CACHE).get(insertedAppUser.getId()) != null &&
+            System.currentTimeMillis() < deadline
+        ) {
+            Thread.sleep(50);
+        }
+        assertThat(appUserRepository.findById(insertedAppUser.getId())).get().extracting(AppUser::getUsername).isEqualTo("renamed");
+    }
+}
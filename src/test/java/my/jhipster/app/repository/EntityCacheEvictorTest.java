@@ -0,0 +1,167 @@
+package my.jhipster.app.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import my.jhipster.app.config.ApplicationProperties;
+import my.jhipster.app.domain.AppUser;
+import my.jhipster.app.domain.UserGroup;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import tech.jhipster.domain.util.JSR310DateConverters.DateToZonedDateTimeConverter;
+import tech.jhipster.domain.util.JSR310DateConverters.ZonedDateTimeToDateConverter;
+
+class EntityCacheEvictorTest {
+
+    private Cache appUsersById;
+
+    private Cache appUserExistsById;
+
+    private Cache userGroupsById;
+
+    private MongoMappingContext mappingContext;
+
+    private CaffeineCacheManager cacheManager;
+
+    private final List<Object> publishedEvents = new ArrayList<>();
+
+    private EntityCacheEvictor entityCacheEvictor;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new CaffeineCacheManager(
+            AppUserRepository.APP_USERS_BY_ID_CACHE,
+            AppUserRepository.APP_USER_EXISTS_BY_ID_CACHE,
+            UserGroupRepository.USER_GROUPS_BY_ID_CACHE,
+            UserGroupRepository.USER_GROUP_EXISTS_BY_ID_CACHE
+        );
+        appUsersById = cacheManager.getCache(AppUserRepository.APP_USERS_BY_ID_CACHE);
+        appUserExistsById = cacheManager.getCache(AppUserRepository.APP_USER_EXISTS_BY_ID_CACHE);
+        userGroupsById = cacheManager.getCache(UserGroupRepository.USER_GROUPS_BY_ID_CACHE);
+        mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(
+            new MongoCustomConversions(List.of(DateToZonedDateTimeConverter.INSTANCE, ZonedDateTimeToDateConverter.INSTANCE))
+                .getSimpleTypeHolder()
+        );
+        entityCacheEvictor = newEntityCacheEvictor(true);
+
+        appUsersById.put(1L, new AppUser().id(1L));
+        appUsersById.put(2L, new AppUser().id(2L).addUserGroup(new UserGroup().id(4L)));
+        appUserExistsById.put(1L, true);
+        userGroupsById.put(3L, new UserGroup().id(3L).appUser(new AppUser().id(1L)));
+        userGroupsById.put(4L, new UserGroup().id(4L).appUser(new AppUser().id(2L)));
+    }
+
+    @Test
+    void saveEvictsSavedAppUser() {
+        entityCacheEvictor.onAfterSave(new AfterSaveEvent<>(new AppUser().id(1L), new Document("_id", 1L), "app_user"));
+
+        assertThat(appUsersById.get(1L)).isNull();
+        assertThat(appUserExistsById.get(1L)).isNull();
+        assertThat(appUsersById.get(2L)).isNotNull();
+        // The cached user groups referencing the saved app user hold a stale copy of it
+        assertThat(userGroupsById.get(3L)).isNull();
+        assertThat(userGroupsById.get(4L)).isNotNull();
+    }
+
+    @Test
+    void evictUserGroupsEvictsReferencingAppUsers() {
+        entityCacheEvictor.evict(UserGroup.class, List.of(4L));
+
+        assertThat(userGroupsById.get(4L)).isNull();
+        assertThat(appUsersById.get(1L)).isNotNull();
+        assertThat(appUsersById.get(2L)).isNull();
+    }
+
+    @Test
+    void unknownWriteClearsOtherEntities() {
+        entityCacheEvictor.evict("app_user", null);
+
+        assertThat(userGroupsById.get(3L)).isNull();
+        assertThat(userGroupsById.get(4L)).isNull();
+    }
+
+    @Test
+    void deleteByIdEvictsDeletedAppUser() {
+        entityCacheEvictor.onAfterDelete(appUserDeleteEvent(new Document("_id", 1L)));
+
+        assertThat(appUsersById.get(1L)).isNull();
+        assertThat(appUserExistsById.get(1L)).isNull();
+        assertThat(appUsersById.get(2L)).isNotNull();
+    }
+
+    @Test
+    void deleteByQueryClearsAppUsers() {
+        entityCacheEvictor.onAfterDelete(appUserDeleteEvent(new Document("_id", new Document("$in", List.of(1L)))));
+        assertThat(appUsersById.get(2L)).isNull();
+
+        appUsersById.put(2L, new AppUser().id(2L));
+        // deleteAll() does not tell the type of the deleted entities
+        entityCacheEvictor.onAfterDelete(new AfterDeleteEvent<>(new Document(), null, "app_user"));
+        assertThat(appUsersById.get(2L)).isNull();
+    }
+
+    @Test
+    void evictAppUsersWithoutEvent() {
+        entityCacheEvictor.evict(AppUser.class, List.of(2L));
+
+        assertThat(appUsersById.get(1L)).isNotNull();
+        assertThat(appUsersById.get(2L)).isNull();
+    }
+
+    @Test
+    void publishWritesToldByChangeStreams() {
+        entityCacheEvictor.evict(AppUser.class, List.of(2L));
+        assertThat(publishedEvents).isEmpty();
+
+        entityCacheEvictor.evict("app_user", List.of(2L));
+        entityCacheEvictor.evict("user_group", null);
+        assertThat(publishedEvents).containsExactly(
+            new EntityChangedEvent(AppUser.class, List.of(2L)),
+            new EntityChangedEvent(UserGroup.class, null)
+        );
+    }
+
+    @Test
+    void publishLocalWritesWithoutChangeStreams() {
+        entityCacheEvictor = newEntityCacheEvictor(false);
+
+        entityCacheEvictor.onAfterSave(new AfterSaveEvent<>(new AppUser().id(1L), new Document("_id", 1L), "app_user"));
+        entityCacheEvictor.evict(UserGroup.class, List.of(3L));
+        assertThat(publishedEvents).containsExactly(
+            new EntityChangedEvent(AppUser.class, List.of(1L)),
+            new EntityChangedEvent(UserGroup.class, List.of(3L))
+        );
+    }
+
+    @Test
+    void evictServerManagedWritesWithoutPublishing() {
+        entityCacheEvictor = newEntityCacheEvictor(false);
+
+        entityCacheEvictor.evictUnpublished(AppUser.class, List.of(2L));
+        entityCacheEvictor.evict("app_user", List.of(1L), false);
+
+        assertThat(appUsersById.get(1L)).isNull();
+        assertThat(appUsersById.get(2L)).isNull();
+        assertThat(publishedEvents).isEmpty();
+    }
+
+    private EntityCacheEvictor newEntityCacheEvictor(boolean changeStreamEnabled) {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getCache().getChangeStream().setEnabled(changeStreamEnabled);
+        return new EntityCacheEvictor(cacheManager, mappingContext, publishedEvents::add, applicationProperties);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static AfterDeleteEvent<Object> appUserDeleteEvent(Document query) {
+        return new AfterDeleteEvent<>(query, (Class<Object>) (Class<?>) AppUser.class, "app_user");
+    }
+}
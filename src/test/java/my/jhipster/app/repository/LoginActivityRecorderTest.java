@@ -0,0 +1,89 @@
+package my.jhipster.app.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+class LoginActivityRecorderTest {
+
+    private static final Instant DATE = Instant.parse("2024-01-01T00:00:00Z");
+
+    private AppUserRepository appUserRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private LoginActivityRecorder loginActivityRecorder;
+
+    private final List<Map<String, Instant>> flushes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        appUserRepository = mock(AppUserRepository.class);
+        doAnswer(invocation -> flushes.add(new HashMap<>(invocation.getArgument(0))))
+            .when(appUserRepository)
+            .updateLastLoginDates(anyMap());
+        meterRegistry = new SimpleMeterRegistry();
+        loginActivityRecorder = new LoginActivityRecorder(appUserRepository, meterRegistry);
+    }
+
+    @Test
+    void flushWritesLatestDatePerAppUser() {
+        loginActivityRecorder.record("a", DATE.plusSeconds(2));
+        loginActivityRecorder.record("a", DATE);
+        loginActivityRecorder.record("b", DATE);
+        assertThat(meterRegistry.get(LoginActivityRecorder.PENDING_METRIC).gauge().value()).isEqualTo(2);
+
+        loginActivityRecorder.flush();
+
+        assertThat(flushes).containsExactly(Map.of("a", DATE.plusSeconds(2), "b", DATE));
+        assertThat(meterRegistry.get(LoginActivityRecorder.PENDING_METRIC).gauge().value()).isZero();
+        assertThat(meterRegistry.get(LoginActivityRecorder.FLUSH_METRIC).timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void flushWithoutActivityWritesNothing() {
+        loginActivityRecorder.flush();
+
+        verify(appUserRepository, never()).updateLastLoginDates(anyMap());
+    }
+
+    @Test
+    void failedFlushIsRetried() {
+        loginActivityRecorder.record("a", DATE);
+        doThrow(new DataAccessResourceFailureException("down")).when(appUserRepository).updateLastLoginDates(anyMap());
+        loginActivityRecorder.flush();
+
+        doAnswer(invocation -> flushes.add(new HashMap<>(invocation.getArgument(0))))
+            .when(appUserRepository)
+            .updateLastLoginDates(anyMap());
+        loginActivityRecorder.record("a", DATE.minusSeconds(1));
+        loginActivityRecorder.flush();
+
+        assertThat(flushes).containsExactly(Map.of("a", DATE));
+    }
+
+    @Test
+    void stopDrainsPendingDates() {
+        loginActivityRecorder.start();
+        loginActivityRecorder.record("a", DATE);
+
+        loginActivityRecorder.stop();
+
+        assertThat(loginActivityRecorder.isRunning()).isFalse();
+        assertThat(flushes).containsExactly(Map.of("a", DATE));
+    }
+}
@@ -0,0 +1,95 @@
+package my.jhipster.app.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import my.jhipster.app.config.ApplicationProperties;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+class SequenceGeneratorTest {
+
+    private static final int BLOCK_SIZE = 10;
+
+    private MongoTemplate mongoTemplate;
+
+    private SequenceGenerator sequenceGenerator;
+
+    @BeforeEach
+    void setUp() {
+        AtomicLong counter = new AtomicLong(5);
+        mongoTemplate = mock(MongoTemplate.class);
+        when(
+            mongoTemplate.findAndModify(
+                any(Query.class),
+                any(Update.class),
+                any(FindAndModifyOptions.class),
+                eq(Document.class),
+                eq(SequenceGenerator.COUNTERS_COLLECTION)
+            )
+        ).thenAnswer(invocation -> new Document(SequenceGenerator.VALUE_FIELD, counter.addAndGet(BLOCK_SIZE)));
+
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getSequence().setBlockSize(BLOCK_SIZE);
+        sequenceGenerator = new SequenceGenerator(mongoTemplate, applicationProperties);
+    }
+
+    @Test
+    void nextIdFollowsCounter() {
+        assertThat(sequenceGenerator.nextId("test")).isEqualTo(6);
+        assertThat(sequenceGenerator.nextId("test")).isEqualTo(7);
+    }
+
+    @Test
+    void nextIdIsUniqueAcrossThreads() throws Exception {
+        int threads = 8;
+        int idsPerThread = 1000;
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        Callable<Void> task = () -> {
+            for (int i = 0; i < idsPerThread; i++) {
+                ids.add(sequenceGenerator.nextId("test"));
+            }
+            return null;
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Void>> futures = executor.invokeAll(IntStream.range(0, threads).mapToObj(i -> task).toList());
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(ids).hasSize(threads * idsPerThread);
+        assertThat(ids.stream().mapToLong(Long::longValue).min().orElseThrow()).isEqualTo(6);
+        assertThat(ids.stream().mapToLong(Long::longValue).max().orElseThrow()).isEqualTo(5 + threads * idsPerThread);
+        verify(mongoTemplate, times(threads * idsPerThread / BLOCK_SIZE)).findAndModify(
+            any(Query.class),
+            any(Update.class),
+            any(FindAndModifyOptions.class),
+            eq(Document.class),
+            eq(SequenceGenerator.COUNTERS_COLLECTION)
+        );
+    }
+}
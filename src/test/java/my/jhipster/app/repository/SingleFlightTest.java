@@ -0,0 +1,119 @@
+package my.jhipster.app.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import my.jhipster.app.domain.AppUser;
+import my.jhipster.app.domain.UserGroup;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+    private MeterRegistry meterRegistry;
+
+    private SingleFlight singleFlight;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight(meterRegistry);
+    }
+
+    @Test
+    void concurrentLoadsAreCoalesced() throws Exception {
+        int callers = 16;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(
+                    executor.submit(() ->
+                        singleFlight.load(AppUser.class, 1L, () -> {
+                            loads.incrementAndGet();
+                            await(release);
+                            return "appUser";
+                        })
+                    )
+                );
+            }
+            // Wait for all the callers to join the first load before releasing it
+            while (coalesced(AppUser.class) < callers - 1) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("appUser");
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(loads).hasValue(1);
+        assertThat(count(AppUser.class, "loaded")).isEqualTo(1);
+        assertThat(meterRegistry.get(SingleFlight.IN_FLIGHT_METRIC).gauge().value()).isZero();
+    }
+
+    @Test
+    void sequentialLoadsAreNotCoalesced() {
+        assertThat(singleFlight.load(AppUser.class, 1L, () -> "first")).isEqualTo("first");
+        assertThat(singleFlight.load(AppUser.class, 1L, () -> "second")).isEqualTo("second");
+        assertThat(singleFlight.load(UserGroup.class, 1L, () -> "userGroup")).isEqualTo("userGroup");
+
+        assertThat(count(AppUser.class, "loaded")).isEqualTo(2);
+        assertThat(count(UserGroup.class, "loaded")).isEqualTo(1);
+    }
+
+    @Test
+    void failedLoadIsNotKept() {
+        assertThatThrownBy(() ->
+            singleFlight.load(AppUser.class, 1L, () -> {
+                throw new IllegalStateException("failed");
+            })
+        ).isInstanceOf(IllegalStateException.class);
+
+        assertThat(singleFlight.load(AppUser.class, 1L, () -> "appUser")).isEqualTo("appUser");
+    }
+
+    private double coalesced(Class<?> entityClass) {
+        // The counter is registered by the first coalesced call
+        return meterRegistry
+            .find(SingleFlight.CALLS_METRIC)
+            .tag("entity", entityClass.getSimpleName())
+            .tag("outcome", "coalesced")
+            .counters()
+            .stream()
+            .mapToDouble(Counter::count)
+            .sum();
+    }
+
+    private double count(Class<?> entityClass, String outcome) {
+        return meterRegistry
+            .get(SingleFlight.CALLS_METRIC)
+            .tag("entity", entityClass.getSimpleName())
+            .tag("outcome", outcome)
+            .counter()
+            .count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
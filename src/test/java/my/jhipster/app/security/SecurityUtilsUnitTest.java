@@ -5,6 +5,7 @@ import static org.springframework.security.oauth2.core.oidc.endpoint.OidcParamet
 
 import java.time.Instant;
 import java.util.*;
+import my.jhipster.app.domain.AppUser;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -58,6 +59,20 @@ class SecurityUtilsUnitTest {
         assertThat(login).contains("admin");
     }
 
+    @Test
+    void testGetCurrentUserSubjectForOAuth2() {
+        SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("sub", "external-id");
+        claims.put("preferred_username", "admin");
+        OidcIdToken idToken = new OidcIdToken(ID_TOKEN, Instant.now(), Instant.now().plusSeconds(60), claims);
+        Collection<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority(AuthoritiesConstants.USER));
+        securityContext.setAuthentication(new OAuth2AuthenticationToken(new DefaultOidcUser(authorities, idToken), authorities, "oidc"));
+        SecurityContextHolder.setContext(securityContext);
+
+        assertThat(SecurityUtils.getCurrentUserSubject()).contains("external-id");
+    }
+
     @Test
     void testExtractAuthorityFromClaims() {
         Map<String, Object> claims = new HashMap<>();
@@ -143,4 +158,28 @@ class SecurityUtilsUnitTest {
         assertThat(SecurityUtils.hasCurrentUserNoneOfAuthorities(AuthoritiesConstants.USER, AuthoritiesConstants.ADMIN)).isFalse();
         assertThat(SecurityUtils.hasCurrentUserNoneOfAuthorities(AuthoritiesConstants.ANONYMOUS, AuthoritiesConstants.ADMIN)).isTrue();
     }
+
+    @Test
+    void testExtractAppUserFromClaims() {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("sub", "123");
+        claims.put("preferred_username", "admin");
+        claims.put("given_name", "Ada");
+        claims.put("email", "admin@localhost");
+
+        AppUser appUser = SecurityUtils.extractAppUserFromClaims(claims);
+
+        assertThat(appUser.getExternalUserId()).isEqualTo("123");
+        assertThat(appUser.getUsername()).isEqualTo("admin");
+        assertThat(appUser.getFirstName()).isEqualTo("Ada");
+        assertThat(appUser.getLastName()).isNull();
+        assertThat(appUser.getEmail()).isEqualTo("admin@localhost");
+    }
+
+    @Test
+    void testExtractAppUserFromClaimsWithoutUsername() {
+        AppUser appUser = SecurityUtils.extractAppUserFromClaims(Map.of("sub", "123"));
+
+        assertThat(appUser.getUsername()).isEqualTo("123");
+    }
 }
@@ -0,0 +1,69 @@
+package my.jhipster.app.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Unit tests for the {@link PreloadLinksFilter} class.
+ */
+class PreloadLinksFilterTest {
+
+    private static final String INDEX_HTML = """
+        <!doctype html>
+        <html>
+          <head>
+            <link rel="icon" href="favicon.ico" />
+            <link rel="stylesheet" href="content/css/loading.css" />
+            <link href="/content/main.3f2a1b7c.css" rel="stylesheet">
+            <link rel="stylesheet" href="https://fonts.example.com/font.css" />
+          </head>
+          <body>
+            <script defer="defer" src="/app/main.1a2b3c4d.js"></script>
+            <script src="//cdn.example.com/library.js"></script>
+            <script>window.inline = true;</script>
+          </body>
+        </html>
+        """;
+
+    @Test
+    void shouldPreloadScriptsAndStylesheetsOfTheSameOrigin() {
+        assertThat(new PreloadLinksFilter(INDEX_HTML).links("")).isEqualTo(
+            "</app/main.1a2b3c4d.js>; rel=preload; as=script, " +
+            "</content/css/loading.css>; rel=preload; as=style, " +
+            "</content/main.3f2a1b7c.css>; rel=preload; as=style"
+        );
+    }
+
+    @Test
+    void shouldPrefixTheContextPath() {
+        assertThat(new PreloadLinksFilter("<script src=\"app/main.js\"></script>").links("/myjhapp")).isEqualTo(
+            "</myjhapp/app/main.js>; rel=preload; as=script"
+        );
+    }
+
+    @Test
+    void shouldAddTheLinkHeader() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/index.html");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        new PreloadLinksFilter(INDEX_HTML).doFilter(request, response, chain);
+
+        assertThat(response.getHeader(HttpHeaders.LINK)).startsWith("</app/main.1a2b3c4d.js>; rel=preload; as=script");
+        assertThat(chain.getRequest()).isSameAs(request);
+    }
+
+    @Test
+    void shouldNotAddAnEmptyLinkHeader() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new PreloadLinksFilter("").doFilter(new MockHttpServletRequest("GET", "/index.html"), response, new MockFilterChain());
+
+        assertThat(response.containsHeader(HttpHeaders.LINK)).isFalse();
+    }
+}
@@ -0,0 +1,104 @@
+package my.jhipster.app.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import my.jhipster.app.IntegrationTest;
+import my.jhipster.app.domain.AppUser;
+import my.jhipster.app.repository.AppUserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+/**
+ * Integration tests for the {@link AppUserReactiveResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+@TestPropertySource(properties = "spring.profiles.include=reactive")
+class AppUserReactiveResourceIT {
+
+    private static final String ENTITY_API_URL = "/api/app-users/stream";
+
+    private static Random random = new Random();
+    private static AtomicLong longCount = new AtomicLong(random.nextInt() + (2 * Integer.MAX_VALUE));
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    @Autowired
+    private MockMvc restAppUserMockMvc;
+
+    private AppUser insertedAppUser;
+
+    private AppUser otherInsertedAppUser;
+
+    @AfterEach
+    public void cleanup() {
+        if (insertedAppUser != null) {
+            appUserRepository.deleteById(insertedAppUser.getId());
+            insertedAppUser = null;
+        }
+        if (otherInsertedAppUser != null) {
+            appUserRepository.deleteById(otherInsertedAppUser.getId());
+            otherInsertedAppUser = null;
+        }
+    }
+
+    @Test
+    void streamAppUsers() throws Exception {
+        // Initialize the database
+        insertedAppUser = appUserRepository.save(AppUserResourceIT.createEntity().id(longCount.incrementAndGet()));
+        otherInsertedAppUser = appUserRepository.save(AppUserResourceIT.createUpdatedEntity().id(longCount.incrementAndGet()));
+
+        List<Long> ids = streamIds(ENTITY_API_URL + "?after=" + (insertedAppUser.getId() - 1));
+        assertThat(ids).containsSubsequence(insertedAppUser.getId(), otherInsertedAppUser.getId());
+        assertThat(ids).isSorted();
+    }
+
+    @Test
+    void streamAppUsersAfterTheLastReceived() throws Exception {
+        // Initialize the database
+        insertedAppUser = appUserRepository.save(AppUserResourceIT.createEntity().id(longCount.incrementAndGet()));
+        otherInsertedAppUser = appUserRepository.save(AppUserResourceIT.createUpdatedEntity().id(longCount.incrementAndGet()));
+
+        List<Long> ids = streamIds(ENTITY_API_URL + "?after=" + insertedAppUser.getId());
+        assertThat(ids).doesNotContain(insertedAppUser.getId()).contains(otherInsertedAppUser.getId());
+    }
+
+    private List<Long> streamIds(String url) throws Exception {
+        MvcResult mvcResult = restAppUserMockMvc
+            .perform(get(url).accept(MediaType.APPLICATION_NDJSON))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        String content = restAppUserMockMvc
+            .perform(asyncDispatch(mvcResult))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        List<Long> ids = new ArrayList<>();
+        for (String line : content.split("\n")) {
+            ids.add(om.readTree(line).get("id").asLong());
+        }
+        return ids;
+    }
+}
@@ -4,29 +4,40 @@ import static my.jhipster.app.domain.AppUserAsserts.*;
 import static my.jhipster.app.web.rest.TestUtil.createUpdateProxyForBean;
 import static my.jhipster.app.web.rest.TestUtil.sameInstant;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import my.jhipster.app.IntegrationTest;
 import my.jhipster.app.domain.AppUser;
+import my.jhipster.app.domain.UserGroup;
 import my.jhipster.app.repository.AppUserRepository;
+import my.jhipster.app.repository.UserGroupRepository;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 /**
  * Integration tests for the {@link AppUserResource} REST controller.
@@ -66,9 +77,18 @@ class AppUserResourceIT {
     @Autowired
     private ObjectMapper om;
 
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileConverter;
+
     @Autowired
     private AppUserRepository appUserRepository;
 
+    @Autowired
+    private UserGroupRepository userGroupRepository;
+
     @Autowired
     private MockMvc restAppUserMockMvc;
 
@@ -76,6 +96,10 @@ class AppUserResourceIT {
 
     private AppUser insertedAppUser;
 
+    private AppUser otherInsertedAppUser;
+
+    private UserGroup insertedUserGroup;
+
     /**
      * Create an entity for this test.
      *
@@ -118,9 +142,17 @@ class AppUserResourceIT {
     @AfterEach
     public void cleanup() {
         if (insertedAppUser != null) {
-            appUserRepository.delete(insertedAppUser);
+            appUserRepository.deleteById(insertedAppUser.getId());
             insertedAppUser = null;
         }
+        if (otherInsertedAppUser != null) {
+            appUserRepository.deleteById(otherInsertedAppUser.getId());
+            otherInsertedAppUser = null;
+        }
+        if (insertedUserGroup != null) {
+            userGroupRepository.deleteById(insertedUserGroup.getId());
+            insertedUserGroup = null;
+        }
     }
 
     @Test
@@ -160,6 +192,98 @@ class AppUserResourceIT {
         assertSameRepositoryCount(databaseSizeBeforeCreate);
     }
 
+    @Test
+    void bulkSaveAppUsers() throws Exception {
+        // Initialize the database
+        insertedAppUser = appUserRepository.save(appUser);
+        long databaseSizeBeforeCreate = getRepositoryCount();
+        AppUser updatedAppUser = createUpdatedEntity().id(insertedAppUser.getId());
+        AppUser invalidAppUser = createEntity().username(null);
+        AppUser newAppUser = createUpdatedEntity();
+        AppUser missingAppUser = createUpdatedEntity().id(longCount.incrementAndGet());
+
+        // Four appUsers are written by two batches
+        String content = restAppUserMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/bulk")
+                    .with(csrf())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(List.of(updatedAppUser, invalidAppUser, newAppUser, missingAppUser)))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(4))
+            .andExpect(jsonPath("$.[0].id").value(insertedAppUser.getId().intValue()))
+            .andExpect(jsonPath("$.[0].status").value(200))
+            .andExpect(jsonPath("$.[1].status").value(400))
+            .andExpect(jsonPath("$.[1].error").value(containsString("username")))
+            .andExpect(jsonPath("$.[2].status").value(201))
+            .andExpect(jsonPath("$.[3].id").value(missingAppUser.getId().intValue()))
+            .andExpect(jsonPath("$.[3].status").value(404))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        newAppUser.setId(om.readTree(content).get(2).get("id").asLong());
+        otherInsertedAppUser = newAppUser;
+
+        assertThat(getRepositoryCount()).as("One appUser should have been created").isEqualTo(databaseSizeBeforeCreate + 1);
+        // The lastLoginDate is managed by the server
+        assertAppUserAllPropertiesEquals(updatedAppUser.lastLoginDate(DEFAULT_LAST_LOGIN_DATE), getPersistedAppUser(updatedAppUser));
+        assertAppUserUpdatableFieldsEquals(newAppUser, getPersistedAppUser(newAppUser));
+        assertThat(appUserRepository.existsById(missingAppUser.getId())).as("An appUser with an id is never created").isFalse();
+    }
+
+    @Test
+    void bulkSaveAppUsersAsNdjson() throws Exception {
+        // Initialize the database
+        appUser.setId(longCount.incrementAndGet());
+        insertedAppUser = appUserRepository.save(appUser);
+        AppUser updatedAppUser = createUpdatedEntity().id(insertedAppUser.getId());
+
+        // The existing appUser is replaced, and the malformed line is reported
+        restAppUserMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/bulk")
+                    .with(csrf())
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .content(om.writeValueAsString(updatedAppUser) + "\n{\"id\":\n")
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$.[0].status").value(200))
+            .andExpect(jsonPath("$.[1].index").value(1))
+            .andExpect(jsonPath("$.[1].status").value(400));
+
+        assertAppUserAllPropertiesEquals(updatedAppUser.lastLoginDate(DEFAULT_LAST_LOGIN_DATE), getPersistedAppUser(updatedAppUser));
+    }
+
+    @Test
+    void bulkSaveAppUsersAsSmile() throws Exception {
+        AppUser otherAppUser = createUpdatedEntity();
+
+        String content = restAppUserMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/bulk")
+                    .with(csrf())
+                    .contentType("application/x-jackson-smile")
+                    .content(smileConverter.getObjectMapper().writeValueAsBytes(List.of(appUser, otherAppUser)))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$.[0].status").value(201))
+            .andExpect(jsonPath("$.[1].status").value(201))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        JsonNode results = om.readTree(content);
+        appUser.setId(results.get(0).get("id").asLong());
+        otherAppUser.setId(results.get(1).get("id").asLong());
+        insertedAppUser = appUser;
+        otherInsertedAppUser = otherAppUser;
+
+        assertAppUserUpdatableFieldsEquals(appUser, getPersistedAppUser(appUser));
+        assertAppUserUpdatableFieldsEquals(otherAppUser, getPersistedAppUser(otherAppUser));
+    }
+
     @Test
     void checkExternalUserIdIsRequired() throws Exception {
         long databaseSizeBeforeTest = getRepositoryCount();
@@ -255,6 +379,239 @@ class AppUserResourceIT {
             .andExpect(jsonPath("$.[*].lastLoginDate").value(hasItem(sameInstant(DEFAULT_LAST_LOGIN_DATE))));
     }
 
+    @Test
+    void getAllAppUsersWithUserGroups() throws Exception {
+        // Initialize the database
+        insertedUserGroup = userGroupRepository.save(UserGroupResourceIT.createEntity().id(longCount.incrementAndGet()));
+        appUser.setId(longCount.incrementAndGet());
+        insertedAppUser = appUserRepository.save(appUser.addUserGroup(insertedUserGroup));
+
+        // The userGroups are only read when asked for
+        restAppUserMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&include=groups"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[?(@.id == %d)].userGroups[*].id", insertedAppUser.getId()).value(insertedUserGroup.getId().intValue()));
+        restAppUserMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[?(@.id == %d)].userGroups[*]", insertedAppUser.getId()).isEmpty());
+    }
+
+    @Test
+    void getAllAppUsersWithUnsupportedInclude() throws Exception {
+        restAppUserMockMvc.perform(get(ENTITY_API_URL + "?include=unknown")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getAllAppUsersAfterCursor() throws Exception {
+        // Initialize the database
+        appUser.setId(longCount.incrementAndGet());
+        insertedAppUser = appUserRepository.save(appUser);
+        otherInsertedAppUser = appUserRepository.save(createUpdatedEntity().id(longCount.incrementAndGet()));
+
+        // Get the slice following the first appUser
+        restAppUserMockMvc
+            .perform(get(ENTITY_API_URL + "?after={after}&size=1", insertedAppUser.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(otherInsertedAppUser.getId().intValue()));
+    }
+
+    @Test
+    void getAllAppUsersWithNextLink() throws Exception {
+        // Initialize the database
+        appUser.setId(longCount.incrementAndGet());
+        insertedAppUser = appUserRepository.save(appUser);
+        otherInsertedAppUser = appUserRepository.save(createUpdatedEntity().id(longCount.incrementAndGet()));
+
+        // Get a slice smaller than the collection
+        restAppUserMockMvc
+            .perform(get(ENTITY_API_URL + "?size=1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("after=")));
+    }
+
+    @Test
+    void getAllAppUsersSortedAfterCursor() throws Exception {
+        // Initialize the database
+        appUser.setId(longCount.incrementAndGet());
+        insertedAppUser = appUserRepository.save(appUser);
+        otherInsertedAppUser = appUserRepository.save(createUpdatedEntity().id(longCount.incrementAndGet()));
+
+        // Get the slice following the updated appUser, by descending username
+        restAppUserMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=username,desc&after={after}", otherInsertedAppUser.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(insertedAppUser.getId().intValue())))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(otherInsertedAppUser.getId().intValue()))));
+    }
+
+    @Test
+    void getAllAppUsersSortedAfterDeletedCursor() throws Exception {
+        // Initialize the database
+        appUser.setId(longCount.incrementAndGet());
+        insertedAppUser = appUserRepository.save(appUser);
+        otherInsertedAppUser = appUserRepository.save(createUpdatedEntity().id(longCount.incrementAndGet()));
+
+        // Get the first appUser by descending username, then delete it
+        String link = restAppUserMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=username,desc&size=1"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.LINK, containsString("afterValue=")))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.LINK);
+        appUserRepository.deleteById(otherInsertedAppUser.getId());
+        otherInsertedAppUser = null;
+
+        // The next link still finds the following appUsers
+        restAppUserMockMvc
+            .perform(get(link.substring(link.indexOf('<') + 1, link.indexOf('>'))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(insertedAppUser.getId().intValue())));
+    }
+
+    @Test
+    void getAllAppUsersWithUnsupportedSort() throws Exception {
+        // firstName has no supporting index
+        restAppUserMockMvc.perform(get(ENTITY_API_URL + "?sort=firstName,asc")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getAllAppUsersWithSeveralSortProperties() throws Exception {
+        // The slices are seeked on a single index
+        restAppUserMockMvc.perform(get(ENTITY_API_URL + "?sort=lastName,asc&sort=username,asc")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getAllAppUsersAfterNonExistingCursor() throws Exception {
+        restAppUserMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=username,asc&after={after}", Long.MAX_VALUE))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportAppUsersAsNdjson() throws Exception {
+        // Initialize the database
+        appUser.setId(longCount.incrementAndGet());
+        insertedAppUser = appUserRepository.save(appUser);
+        otherInsertedAppUser = appUserRepository.save(createUpdatedEntity().id(longCount.incrementAndGet()));
+
+        MvcResult mvcResult = restAppUserMockMvc
+            .perform(get(ENTITY_API_URL + "/export"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        String[] lines = restAppUserMockMvc
+            .perform(asyncDispatch(mvcResult))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+            .andReturn()
+            .getResponse()
+            .getContentAsString()
+            .split("\n");
+        assertThat(lines).anySatisfy(line -> assertAppUserAllPropertiesEquals(insertedAppUser, om.readValue(line, AppUser.class)));
+        assertThat(lines).anySatisfy(line -> assertThat(om.readTree(line).get("id").asLong()).isEqualTo(otherInsertedAppUser.getId()));
+        assertThat(lines).allSatisfy(line -> assertThat(om.readTree(line).has("userGroups")).isFalse());
+    }
+
+    @Test
+    void exportAppUsersAsCsv() throws Exception {
+        // Initialize the database
+        appUser.setId(longCount.incrementAndGet());
+        appUser.setFirstName("A, \"quoted\" name");
+        insertedAppUser = appUserRepository.save(appUser);
+
+        MvcResult mvcResult = restAppUserMockMvc
+            .perform(get(ENTITY_API_URL + "/export?format=csv"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        restAppUserMockMvc
+            .perform(asyncDispatch(mvcResult))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("text/csv"))
+            .andExpect(content().string(startsWith("id,externalUserId,username,firstName,lastName,email,registeredDate,lastLoginDate\r\n")))
+            .andExpect(content().string(containsString(insertedAppUser.getId() + "," + DEFAULT_EXTERNAL_USER_ID + "," + DEFAULT_USERNAME + ",\"A, \"\"quoted\"\" name\",")));
+    }
+
+    @Test
+    void exportAppUsersAsCbor() throws Exception {
+        // Initialize the database
+        appUser.setId(longCount.incrementAndGet());
+        insertedAppUser = appUserRepository.save(appUser);
+
+        MvcResult mvcResult = restAppUserMockMvc
+            .perform(get(ENTITY_API_URL + "/export?format=cbor"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        byte[] content = restAppUserMockMvc
+            .perform(asyncDispatch(mvcResult))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/cbor-seq"))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+        List<AppUser> appUsers = cborConverter.getObjectMapper().readerFor(AppUser.class).<AppUser>readValues(content).readAll();
+        assertThat(appUsers).anySatisfy(exported -> assertAppUserAllPropertiesEquals(insertedAppUser, exported));
+    }
+
+    @Test
+    void exportAppUsersWithUnsupportedFormat() throws Exception {
+        restAppUserMockMvc.perform(get(ENTITY_API_URL + "/export?format=xml")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void streamAppUserChanges() throws Exception {
+        MvcResult changes = restAppUserMockMvc
+            .perform(get(ENTITY_API_URL + "/changes").accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        insertedAppUser = appUserRepository.save(appUser);
+
+        // The changes are told by the change streams, and sent by another thread
+        String upsert = "data:{\"type\":\"UPSERT\",\"id\":" + insertedAppUser.getId() + ",";
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!changes.getResponse().getContentAsString().contains(upsert) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(changes.getResponse().getContentAsString()).contains("event:appUser\n" + upsert);
+    }
+
+    @Test
+    void getAppUserAvailability() throws Exception {
+        // Initialize the database
+        insertedAppUser = appUserRepository.save(appUser);
+
+        // The keys of the new appUser are added to the filters by another thread
+        String url = ENTITY_API_URL + "/availability?username={username}&email={email}&externalUserId={externalUserId}";
+        Object[] keys = { DEFAULT_USERNAME, DEFAULT_EMAIL.toLowerCase(), UPDATED_EXTERNAL_USER_ID };
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (
+            restAppUserMockMvc.perform(get(url, keys)).andReturn().getResponse().getContentAsString().contains("true,") &&
+            System.currentTimeMillis() < deadline
+        ) {
+            Thread.sleep(50);
+        }
+        restAppUserMockMvc
+            .perform(get(url, keys))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("no-store")))
+            .andExpect(jsonPath("$.username").value(false))
+            .andExpect(jsonPath("$.email").value(false))
+            .andExpect(jsonPath("$.externalUserId").value(true));
+    }
+
+    @Test
+    void getAppUserAvailabilityWithoutKey() throws Exception {
+        restAppUserMockMvc.perform(get(ENTITY_API_URL + "/availability")).andExpect(status().isBadRequest());
+    }
+
     @Test
     void getAppUser() throws Exception {
         // Initialize the database
@@ -275,12 +632,137 @@ class AppUserResourceIT {
             .andExpect(jsonPath("$.lastLoginDate").value(sameInstant(DEFAULT_LAST_LOGIN_DATE)));
     }
 
+    @Test
+    void getAppUserAsCbor() throws Exception {
+        // Initialize the database
+        insertedAppUser = appUserRepository.save(appUser);
+
+        byte[] content = restAppUserMockMvc
+            .perform(get(ENTITY_API_URL_ID, appUser.getId()).accept(MediaType.APPLICATION_CBOR))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+        assertAppUserAllPropertiesEquals(appUser, cborConverter.getObjectMapper().readValue(content, AppUser.class));
+    }
+
+    @Test
+    void getAppUserWithUserGroups() throws Exception {
+        // Initialize the database
+        insertedUserGroup = userGroupRepository.save(UserGroupResourceIT.createEntity().id(longCount.incrementAndGet()));
+        appUser.setId(longCount.incrementAndGet());
+        insertedAppUser = appUserRepository.save(appUser.addUserGroup(insertedUserGroup));
+
+        // The userGroups referenced by the appUser are looked up with it
+        String eTag = restAppUserMockMvc
+            .perform(get(ENTITY_API_URL_ID + "?expand=groups", insertedAppUser.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(insertedAppUser.getId().intValue()))
+            .andExpect(jsonPath("$.username").value(DEFAULT_USERNAME))
+            .andExpect(jsonPath("$.userGroups[*].id").value(hasItem(insertedUserGroup.getId().intValue())))
+            .andExpect(jsonPath("$.userGroups[*].name").value(hasItem(UserGroupResourceIT.createEntity().getName())))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        // The same userGroups are read without the expand
+        restAppUserMockMvc
+            .perform(get(ENTITY_API_URL_ID, insertedAppUser.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag))
+            .andExpect(jsonPath("$.userGroups[*].id").value(hasItem(insertedUserGroup.getId().intValue())));
+    }
+
+    @Test
+    void getNonExistingAppUserWithUserGroups() throws Exception {
+        restAppUserMockMvc.perform(get(ENTITY_API_URL_ID + "?expand=groups", Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
     @Test
     void getNonExistingAppUser() throws Exception {
         // Get the appUser
         restAppUserMockMvc.perform(get(ENTITY_API_URL_ID, Long.MAX_VALUE)).andExpect(status().isNotFound());
     }
 
+    @Test
+    void getNonExistingAppUserAsSmile() throws Exception {
+        // The problem is encoded like the appUser would have been
+        byte[] content = restAppUserMockMvc
+            .perform(get(ENTITY_API_URL_ID, Long.MAX_VALUE).accept("application/x-jackson-smile"))
+            .andExpect(status().isNotFound())
+            .andExpect(content().contentType("application/x-jackson-smile"))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+        JsonNode problem = smileConverter.getObjectMapper().readTree(content);
+        assertThat(problem.get("status").asInt()).isEqualTo(404);
+        assertThat(problem.has("title")).isTrue();
+    }
+
+    @Test
+    void getAppUserByExternalUserId() throws Exception {
+        // Initialize the database
+        insertedAppUser = appUserRepository.save(appUser);
+
+        restAppUserMockMvc
+            .perform(get(ENTITY_API_URL + "/by-external-id/{externalUserId}", DEFAULT_EXTERNAL_USER_ID))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andExpect(jsonPath("$.id").value(appUser.getId().intValue()));
+        restAppUserMockMvc
+            .perform(get(ENTITY_API_URL + "/by-external-id/{externalUserId}", UPDATED_EXTERNAL_USER_ID))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getAppUserByUsername() throws Exception {
+        // Initialize the database
+        insertedAppUser = appUserRepository.save(appUser);
+
+        restAppUserMockMvc
+            .perform(get(ENTITY_API_URL + "/by-username/{username}", DEFAULT_USERNAME))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(appUser.getId().intValue()));
+        // Usernames are case-sensitive
+        restAppUserMockMvc
+            .perform(get(ENTITY_API_URL + "/by-username/{username}", DEFAULT_USERNAME.toLowerCase()))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getAppUserByEmailIgnoringCase() throws Exception {
+        // Initialize the database
+        insertedAppUser = appUserRepository.save(appUser);
+
+        restAppUserMockMvc
+            .perform(get(ENTITY_API_URL + "/by-email/{email}", DEFAULT_EMAIL.toLowerCase()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(appUser.getId().intValue()))
+            .andExpect(jsonPath("$.email").value(DEFAULT_EMAIL));
+        restAppUserMockMvc.perform(get(ENTITY_API_URL + "/by-email/{email}", UPDATED_EMAIL)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getNotModifiedAppUser() throws Exception {
+        // Initialize the database
+        insertedAppUser = appUserRepository.save(appUser);
+
+        String eTag = restAppUserMockMvc
+            .perform(get(ENTITY_API_URL_ID, appUser.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("no-cache")))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        // The stored representation is still valid
+        restAppUserMockMvc
+            .perform(get(ENTITY_API_URL_ID, appUser.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+    }
+
     @Test
     void putExistingAppUser() throws Exception {
         // Initialize the database
@@ -288,16 +770,8 @@ class AppUserResourceIT {
 
         long databaseSizeBeforeUpdate = getRepositoryCount();
 
-        // Update the appUser
-        AppUser updatedAppUser = appUserRepository.findById(appUser.getId()).orElseThrow();
-        updatedAppUser
-            .externalUserId(UPDATED_EXTERNAL_USER_ID)
-            .username(UPDATED_USERNAME)
-            .firstName(UPDATED_FIRST_NAME)
-            .lastName(UPDATED_LAST_NAME)
-            .email(UPDATED_EMAIL)
-            .registeredDate(UPDATED_REGISTERED_DATE)
-            .lastLoginDate(UPDATED_LAST_LOGIN_DATE);
+        // Update the appUser, without modifying the cached instance
+        AppUser updatedAppUser = createUpdatedEntity().id(appUser.getId());
 
         restAppUserMockMvc
             .perform(
@@ -308,9 +782,9 @@ class AppUserResourceIT {
             )
             .andExpect(status().isOk());
 
-        // Validate the AppUser in the database
+        // Validate the AppUser in the database, whose lastLoginDate is managed by the server
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
-        assertPersistedAppUserToMatchAllProperties(updatedAppUser);
+        assertPersistedAppUserToMatchAllProperties(updatedAppUser.lastLoginDate(DEFAULT_LAST_LOGIN_DATE));
     }
 
     @Test
@@ -332,6 +806,28 @@ class AppUserResourceIT {
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
     }
 
+    @Test
+    void putModifiedAppUser() throws Exception {
+        // Initialize the database
+        insertedAppUser = appUserRepository.save(appUser);
+        String staleETag = "\"" + insertedAppUser.getVersion() + "\"";
+        appUserRepository.replace(appUserRepository.findOneWithUserGroups(appUser.getId()).orElseThrow().firstName(UPDATED_FIRST_NAME));
+
+        // The appUser was modified since the entity tag was read
+        restAppUserMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, appUser.getId())
+                    .with(csrf())
+                    .header(HttpHeaders.IF_MATCH, staleETag)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(createUpdatedEntity().id(appUser.getId())))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        assertThat(getPersistedAppUser(appUser).getFirstName()).isEqualTo(UPDATED_FIRST_NAME);
+        assertThat(getPersistedAppUser(appUser).getVersion()).isEqualTo(insertedAppUser.getVersion() + 1);
+    }
+
     @Test
     void putWithIdMismatchAppUser() throws Exception {
         long databaseSizeBeforeUpdate = getRepositoryCount();
@@ -426,10 +922,13 @@ class AppUserResourceIT {
             )
             .andExpect(status().isOk());
 
-        // Validate the AppUser in the database
+        // Validate the AppUser in the database, whose lastLoginDate is managed by the server
 
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
-        assertAppUserUpdatableFieldsEquals(partialUpdatedAppUser, getPersistedAppUser(partialUpdatedAppUser));
+        assertAppUserUpdatableFieldsEquals(
+            partialUpdatedAppUser.lastLoginDate(DEFAULT_LAST_LOGIN_DATE),
+            getPersistedAppUser(partialUpdatedAppUser)
+        );
     }
 
     @Test
@@ -437,7 +936,7 @@ class AppUserResourceIT {
         long databaseSizeBeforeUpdate = getRepositoryCount();
         appUser.setId(longCount.incrementAndGet());
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // If the entity doesn't exist, nothing is updated
         restAppUserMockMvc
             .perform(
                 patch(ENTITY_API_URL_ID, appUser.getId())
@@ -445,7 +944,7 @@ class AppUserResourceIT {
                     .contentType("application/merge-patch+json")
                     .content(om.writeValueAsBytes(appUser))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Validate the AppUser in the database
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
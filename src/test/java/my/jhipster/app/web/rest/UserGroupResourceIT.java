@@ -3,7 +3,9 @@ package my.jhipster.app.web.rest;
 import static my.jhipster.app.domain.UserGroupAsserts.*;
 import static my.jhipster.app.web.rest.TestUtil.createUpdateProxyForBean;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.nullValue;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -12,13 +14,16 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import my.jhipster.app.IntegrationTest;
+import my.jhipster.app.domain.AppUser;
 import my.jhipster.app.domain.UserGroup;
+import my.jhipster.app.repository.AppUserRepository;
 import my.jhipster.app.repository.UserGroupRepository;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -46,6 +51,9 @@ class UserGroupResourceIT {
     @Autowired
     private UserGroupRepository userGroupRepository;
 
+    @Autowired
+    private AppUserRepository appUserRepository;
+
     @Autowired
     private MockMvc restUserGroupMockMvc;
 
@@ -53,6 +61,10 @@ class UserGroupResourceIT {
 
     private UserGroup insertedUserGroup;
 
+    private UserGroup otherInsertedUserGroup;
+
+    private AppUser insertedAppUser;
+
     /**
      * Create an entity for this test.
      *
@@ -81,9 +93,17 @@ class UserGroupResourceIT {
     @AfterEach
     public void cleanup() {
         if (insertedUserGroup != null) {
-            userGroupRepository.delete(insertedUserGroup);
+            userGroupRepository.deleteById(insertedUserGroup.getId());
             insertedUserGroup = null;
         }
+        if (otherInsertedUserGroup != null) {
+            userGroupRepository.deleteById(otherInsertedUserGroup.getId());
+            otherInsertedUserGroup = null;
+        }
+        if (insertedAppUser != null) {
+            appUserRepository.deleteById(insertedAppUser.getId());
+            insertedAppUser = null;
+        }
     }
 
     @Test
@@ -152,6 +172,61 @@ class UserGroupResourceIT {
             .andExpect(jsonPath("$.[*].name").value(hasItem(DEFAULT_NAME)));
     }
 
+    @Test
+    void getAllUserGroupsWithAppUser() throws Exception {
+        // Initialize the database
+        insertedAppUser = appUserRepository.save(AppUserResourceIT.createEntity().id(longCount.incrementAndGet()));
+        userGroup.setId(longCount.incrementAndGet());
+        insertedUserGroup = userGroupRepository.save(userGroup.appUser(insertedAppUser));
+
+        // The appUser is only read when asked for
+        restUserGroupMockMvc
+            .perform(get(ENTITY_API_URL + "?include=appUser"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[?(@.id == %d)].appUser.id", insertedUserGroup.getId()).value(insertedAppUser.getId().intValue()));
+        restUserGroupMockMvc
+            .perform(get(ENTITY_API_URL))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[?(@.id == %d)].appUser", insertedUserGroup.getId()).value(hasItem(nullValue())));
+    }
+
+    @Test
+    void getAllUserGroupsWithUnsupportedInclude() throws Exception {
+        restUserGroupMockMvc.perform(get(ENTITY_API_URL + "?include=unknown")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getAllUserGroupsAfterCursor() throws Exception {
+        // Initialize the database
+        userGroup.setId(longCount.incrementAndGet());
+        insertedUserGroup = userGroupRepository.save(userGroup);
+        otherInsertedUserGroup = userGroupRepository.save(createUpdatedEntity().id(longCount.incrementAndGet()));
+
+        // Get the slice following the first userGroup
+        restUserGroupMockMvc
+            .perform(get(ENTITY_API_URL + "?after={after}&size=1", insertedUserGroup.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(otherInsertedUserGroup.getId().intValue()));
+    }
+
+    @Test
+    void getAllUserGroupsWithNextLink() throws Exception {
+        // Initialize the database
+        userGroup.setId(longCount.incrementAndGet());
+        insertedUserGroup = userGroupRepository.save(userGroup);
+        otherInsertedUserGroup = userGroupRepository.save(createUpdatedEntity().id(longCount.incrementAndGet()));
+
+        // Get a slice smaller than the collection
+        restUserGroupMockMvc
+            .perform(get(ENTITY_API_URL + "?size=1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("after=")));
+    }
+
     @Test
     void getUserGroup() throws Exception {
         // Initialize the database
@@ -172,6 +247,30 @@ class UserGroupResourceIT {
         restUserGroupMockMvc.perform(get(ENTITY_API_URL_ID, Long.MAX_VALUE)).andExpect(status().isNotFound());
     }
 
+    @Test
+    void getModifiedUserGroupAppUser() throws Exception {
+        // Initialize the database
+        insertedAppUser = appUserRepository.save(AppUserResourceIT.createEntity());
+        insertedUserGroup = userGroupRepository.save(userGroup.appUser(insertedAppUser));
+
+        String eTag = restUserGroupMockMvc
+            .perform(get(ENTITY_API_URL_ID, userGroup.getId()))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+        restUserGroupMockMvc
+            .perform(get(ENTITY_API_URL_ID, userGroup.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified());
+
+        // The embedded appUser is part of the representation
+        appUserRepository.replace(appUserRepository.findOneWithUserGroups(insertedAppUser.getId()).orElseThrow().firstName("modified"));
+        restUserGroupMockMvc
+            .perform(get(ENTITY_API_URL_ID, userGroup.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.appUser.firstName").value("modified"));
+    }
+
     @Test
     void putExistingUserGroup() throws Exception {
         // Initialize the database
@@ -179,9 +278,8 @@ class UserGroupResourceIT {
 
         long databaseSizeBeforeUpdate = getRepositoryCount();
 
-        // Update the userGroup
-        UserGroup updatedUserGroup = userGroupRepository.findById(userGroup.getId()).orElseThrow();
-        updatedUserGroup.name(UPDATED_NAME);
+        // Update the userGroup, without modifying the cached instance
+        UserGroup updatedUserGroup = createUpdatedEntity().id(userGroup.getId());
 
         restUserGroupMockMvc
             .perform(
@@ -311,7 +409,7 @@ class UserGroupResourceIT {
         long databaseSizeBeforeUpdate = getRepositoryCount();
         userGroup.setId(longCount.incrementAndGet());
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // If the entity doesn't exist, nothing is updated
         restUserGroupMockMvc
             .perform(
                 patch(ENTITY_API_URL_ID, userGroup.getId())
@@ -319,7 +417,7 @@ class UserGroupResourceIT {
                     .contentType("application/merge-patch+json")
                     .content(om.writeValueAsBytes(userGroup))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Validate the UserGroup in the database
         assertSameRepositoryCount(databaseSizeBeforeUpdate);